@@ -0,0 +1,81 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.RpgCharacterForgeApplication;
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Datos deterministas para los benchmarks: personajes con ids asignados y una fracción de clones.
+ */
+final class BenchFixtures {
+
+    static final List<String> CLASSES = List.of("Guerrero", "Mago", "Arquero", "Paladín", "Asesino");
+    static final List<String> RACES = List.of("Humano", "Elfo", "Enano", "Orco", "Mediano");
+
+    private BenchFixtures() {
+    }
+
+    /** n personajes con ids 1..n; cloneRatio de ellos son clones de un personaje anterior. */
+    static List<Character> characters(int n, double cloneRatio, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Character> characters = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Character character;
+            if (i > 0 && random.nextDouble() < cloneRatio) {
+                character = characters.get(random.nextInt(i)).clone();
+                character.setName("Clon " + i);
+            } else {
+                character = randomCharacter(random, "Personaje " + i);
+            }
+            character.setId((long) i + 1);
+            characters.add(character);
+        }
+        return characters;
+    }
+
+    static Character randomCharacter(SplittableRandom random, String name) {
+        return new Character.Builder()
+                .name(name)
+                .race(RACES.get(random.nextInt(RACES.size())))
+                .characterClass(CLASSES.get(random.nextInt(CLASSES.size())))
+                .level(random.nextInt(1, 101))
+                .strength(random.nextInt(1, 101))
+                .agility(random.nextInt(1, 101))
+                .intelligence(random.nextInt(1, 101))
+                .vitality(random.nextInt(1, 101))
+                .luck(random.nextInt(1, 101))
+                .skillsMask(random.nextInt(1 << CharacterCatalog.SKILLS.size()))
+                .equipmentMask(random.nextInt(1 << CharacterCatalog.EQUIPMENT.size()))
+                .build();
+    }
+
+    /**
+     * Arranca la aplicación sin servidor web, con H2 en memoria, para benchmarks que pasan por JPA.
+     * Las propiedades ("clave=valor", las del llamador sustituyen a las de aquí) van como argumentos de línea de
+     * comandos para que prevalezcan sobre application.properties.
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        Map<String, String> all = new LinkedHashMap<>();
+        for (String property : List.of(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1")) {
+            all.put(property.substring(0, property.indexOf('=')), property);
+        }
+        for (String property : properties) {
+            all.put(property.substring(0, property.indexOf('=')), property);
+        }
+        return new SpringApplicationBuilder(RpgCharacterForgeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(all.values().stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
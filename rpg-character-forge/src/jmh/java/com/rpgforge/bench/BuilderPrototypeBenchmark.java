@@ -0,0 +1,104 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.CharacterFormDTO;
+import com.rpgforge.repository.CharacterRepository;
+import com.rpgforge.service.CharacterService;
+import com.rpgforge.service.ForgeMetrics;
+import com.rpgforge.service.WriteBehindWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de los caminos Builder / Prototype sin base de datos:
+ * Character.Builder...build(), Character.clone() y CharacterService.buildFromForm
+ * (con un repositorio que devuelve la entidad sin persistirla).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuilderPrototypeBenchmark {
+
+    private Character prototype;
+    private CharacterFormDTO form;
+    private CharacterService characterService;
+
+    @Setup
+    public void setUp() {
+        prototype = new Character.Builder()
+                .name("Ragnar el Conquistador")
+                .race("Humano")
+                .characterClass("Guerrero")
+                .level(45)
+                .strength(90)
+                .agility(60)
+                .intelligence(30)
+                .vitality(80)
+                .luck(40)
+                .skills(List.of("Golpe brutal", "Escudo divino", "Furia berserker"))
+                .equipment(List.of("Espada larga", "Armadura de placas", "Escudo de roble"))
+                .build();
+        prototype.setId(1L);
+
+        form = new CharacterFormDTO();
+        form.setName("Sylvana");
+        form.setRace("Elfo");
+        form.setCharacterClass("Mago");
+        form.setLevel(30);
+        form.setStrength(20);
+        form.setAgility(70);
+        form.setIntelligence(95);
+        form.setVitality(40);
+        form.setLuck(75);
+        form.setSkills(List.of("Rayo de hielo", "Teletransporte", "Invocar familiar"));
+        form.setEquipment(List.of("Bastón mágico", "Capa de invisibilidad"));
+
+        CharacterRepository repository = (CharacterRepository) Proxy.newProxyInstance(
+                CharacterRepository.class.getClassLoader(),
+                new Class<?>[]{CharacterRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("save")) {
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        characterService = new CharacterService(repository, event -> { }, null, 50, new ForgeMetrics(new SimpleMeterRegistry()),
+                new StaticListableBeanFactory().getBeanProvider(WriteBehindWriter.class));
+    }
+
+    @Benchmark
+    public Character builderBuild() {
+        return new Character.Builder()
+                .name("Drak")
+                .race("Orco")
+                .characterClass("Arquero")
+                .level(22)
+                .strength(65)
+                .agility(88)
+                .intelligence(25)
+                .vitality(55)
+                .luck(60)
+                .skills(List.of("Flecha de fuego", "Veneno letal", "Invisibilidad"))
+                .equipment(List.of("Arco élfico", "Daga envenenada", "Botas veloces"))
+                .build();
+    }
+
+    /** Desde el cambio a máscaras de bits clone() ya no copia cadenas; solo super.clone() más el linaje. */
+    @Benchmark
+    public Character prototypeClone() {
+        return prototype.clone();
+    }
+
+    @Benchmark
+    public Character buildFromForm() {
+        return characterService.buildFromForm(form);
+    }
+}
@@ -0,0 +1,58 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterDiff;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Diff de habilidades de /compare: el split + stream sobre cadenas separadas por comas
+ * frente a CharacterDiff sobre máscaras de bits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompareBenchmark {
+
+    private Character original;
+    private Character clone;
+    private String originalSkills;
+    private String cloneSkills;
+
+    @Setup
+    public void setUp() {
+        List<Character> pair = BenchFixtures.characters(2, 0, 7);
+        original = pair.get(0);
+        clone = original.clone();
+        clone.setSkillsMask(pair.get(1).getSkillsMask());
+        originalSkills = String.join(", ", original.getSkills());
+        cloneSkills = String.join(", ", clone.getSkills());
+    }
+
+    /** Implementación original del controlador sobre las columnas de texto. */
+    @Benchmark
+    public List<String> legacyStringSkillDiff() {
+        List<String> cloneList = cloneSkills.isBlank() ? List.of() : List.of(cloneSkills.split(",\\s*"));
+        List<String> originalList = originalSkills.isBlank() ? List.of() : List.of(originalSkills.split(",\\s*"));
+        return cloneList.stream()
+                .map(String::trim)
+                .filter(s -> !originalList.stream().map(String::trim).toList().contains(s))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> bitmaskSkillDiff() {
+        return CharacterDiff.between(original, clone).addedSkills();
+    }
+
+    @Benchmark
+    public CharacterDiff fullCharacterDiff() {
+        return CharacterDiff.between(original, clone);
+    }
+}
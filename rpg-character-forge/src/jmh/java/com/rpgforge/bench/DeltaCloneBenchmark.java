@@ -0,0 +1,190 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.service.CharacterService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Clones guardados como copia completa (lo que hace Character.clone()) frente a clones delta que solo guardan
+ * lo que cambia el patch y resuelven el resto desde el prototipo, con los prototipos cacheados en memoria.
+ * Familias de NPCs: 1000 prototipos y 99.000 clones de un prototipo al azar; todos cambian el nombre y uno de
+ * cada cinco también la clase, como en el modal de clonación.
+ * El espacio de cada tabla (DISK_SPACE_USED de H2) se imprime en el setUp; los benchmarks leen una página de 24
+ * clones por id, alternando entre dos páginas para que H2 no devuelva el resultado cacheado de la anterior.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeltaCloneBenchmark {
+
+    private static final int PROTOTYPES = 1_000;
+    private static final int CLONES = 99_000;
+    private static final int CHUNK = 10_000;
+    private static final int PAGE_SIZE = 24;
+
+    private static final String FULL_COLUMNS = "id, name, race, character_class, level, strength, agility, "
+            + "intelligence, vitality, luck, skills_mask, equipment_mask, cloned_from_id, lineage_path, created_at";
+
+    private static final RowMapper<Character> FULL_ROW = (rs, n) -> new Character.Builder()
+            .name(rs.getString("name"))
+            .race(rs.getString("race"))
+            .characterClass(rs.getString("character_class"))
+            .level(rs.getInt("level"))
+            .strength(rs.getInt("strength"))
+            .agility(rs.getInt("agility"))
+            .intelligence(rs.getInt("intelligence"))
+            .vitality(rs.getInt("vitality"))
+            .luck(rs.getInt("luck"))
+            .skillsMask(rs.getInt("skills_mask"))
+            .equipmentMask(rs.getInt("equipment_mask"))
+            .build();
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private final Map<Long, Character> prototypes = new HashMap<>();
+    private final String[] pages = new String[2];
+    private int call;
+
+    @Setup
+    public void setUp() {
+        // Base en fichero: DISK_SPACE_USED no cuenta páginas en una base en memoria
+        try {
+            directory = Files.createTempDirectory("delta-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        context = BenchFixtures.startApplication(
+                "spring.datasource.url=jdbc:h2:file:" + directory.resolve("bench").toAbsolutePath());
+        jdbc = context.getBean(JdbcTemplate.class);
+        CharacterService characterService = context.getBean(CharacterService.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Character> originals = new ArrayList<>(PROTOTYPES);
+        for (int i = 0; i < PROTOTYPES; i++) {
+            originals.add(BenchFixtures.randomCharacter(random, "Prototipo " + i));
+        }
+        characterService.saveAll(originals);
+        for (int from = 0; from < CLONES; from += CHUNK) {
+            List<Character> clones = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(CLONES, from + CHUNK); i++) {
+                Character clone = originals.get(random.nextInt(PROTOTYPES)).clone();
+                clone.setName("NPC " + i);
+                if (random.nextInt(5) == 0) {
+                    clone.setCharacterClass(BenchFixtures.CLASSES.get(random.nextInt(BenchFixtures.CLASSES.size())));
+                }
+                clones.add(clone);
+            }
+            characterService.saveAll(clones);
+        }
+
+        // Misma fila de clon en los dos formatos; en el delta las columnas iguales al prototipo quedan a NULL
+        jdbc.execute("CREATE TABLE full_clones AS SELECT " + FULL_COLUMNS
+                + " FROM characters WHERE cloned_from_id IS NOT NULL");
+        jdbc.execute("CREATE TABLE delta_clones AS SELECT c.id, c.name, c.cloned_from_id, c.lineage_path, c.created_at, "
+                + "NULLIF(c.race, p.race) race, NULLIF(c.character_class, p.character_class) character_class, "
+                + "NULLIF(c.level, p.level) level, NULLIF(c.strength, p.strength) strength, "
+                + "NULLIF(c.agility, p.agility) agility, NULLIF(c.intelligence, p.intelligence) intelligence, "
+                + "NULLIF(c.vitality, p.vitality) vitality, NULLIF(c.luck, p.luck) luck, "
+                + "NULLIF(c.skills_mask, p.skills_mask) skills_mask, "
+                + "NULLIF(c.equipment_mask, p.equipment_mask) equipment_mask "
+                + "FROM characters c JOIN characters p ON p.id = c.cloned_from_id");
+        jdbc.execute("ALTER TABLE full_clones ALTER COLUMN id SET NOT NULL");
+        jdbc.execute("ALTER TABLE delta_clones ALTER COLUMN id SET NOT NULL");
+        jdbc.execute("ALTER TABLE full_clones ADD PRIMARY KEY (id)");
+        jdbc.execute("ALTER TABLE delta_clones ADD PRIMARY KEY (id)");
+        jdbc.execute("CHECKPOINT SYNC");
+        long full = jdbc.queryForObject("SELECT DISK_SPACE_USED('FULL_CLONES')", Long.class);
+        long delta = jdbc.queryForObject("SELECT DISK_SPACE_USED('DELTA_CLONES')", Long.class);
+        System.out.printf("%nEspacio de %d clones: copia completa %d KB, delta %d KB (%.1f%%)%n",
+                CLONES, full / 1024, delta / 1024, 100.0 * delta / full);
+
+        List<Long> ids = jdbc.queryForList("SELECT id FROM full_clones ORDER BY id DESC LIMIT "
+                + 2 * PAGE_SIZE, Long.class);
+        pages[0] = inList(ids.subList(0, PAGE_SIZE));
+        pages[1] = inList(ids.subList(PAGE_SIZE, 2 * PAGE_SIZE));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<Character> readFullCopies() {
+        return jdbc.query("SELECT " + FULL_COLUMNS + " FROM full_clones WHERE id IN " + pages[call++ & 1], FULL_ROW);
+    }
+
+    @Benchmark
+    public List<Character> readDeltas() {
+        return jdbc.query("SELECT * FROM delta_clones WHERE id IN " + pages[call++ & 1], (rs, n) -> {
+            Character resolved = prototype(rs.getLong("cloned_from_id")).clone();
+            resolved.setName(rs.getString("name"));
+            String race = rs.getString("race");
+            if (race != null) {
+                resolved.setRace(race);
+            }
+            String characterClass = rs.getString("character_class");
+            if (characterClass != null) {
+                resolved.setCharacterClass(characterClass);
+            }
+            override(rs, "level", resolved::setLevel);
+            override(rs, "strength", resolved::setStrength);
+            override(rs, "agility", resolved::setAgility);
+            override(rs, "intelligence", resolved::setIntelligence);
+            override(rs, "vitality", resolved::setVitality);
+            override(rs, "luck", resolved::setLuck);
+            override(rs, "skills_mask", resolved::setSkillsMask);
+            override(rs, "equipment_mask", resolved::setEquipmentMask);
+            return resolved;
+        });
+    }
+
+    /** Prototipo cacheado; en un fallo se carga con una consulta por clave primaria. */
+    private Character prototype(long id) {
+        return prototypes.computeIfAbsent(id, key -> jdbc.queryForObject(
+                "SELECT " + FULL_COLUMNS + " FROM characters WHERE id = ?", FULL_ROW, key));
+    }
+
+    private static void override(ResultSet rs, String column, IntConsumer setter) throws SQLException {
+        int value = rs.getInt(column);
+        if (!rs.wasNull()) {
+            setter.accept(value);
+        }
+    }
+
+    private static String inList(List<Long> ids) {
+        StringBuilder sql = new StringBuilder("(");
+        for (Long id : ids) {
+            sql.append(sql.length() > 1 ? "," : "").append(id);
+        }
+        return sql.append(')').toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.service.CharacterSavedEvent;
+import com.rpgforge.service.CloneLineageReadModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Agregación de linaje de la galería a distintos tamaños de tabla:
+ * el groupingBy / toMap original sobre todos los personajes frente a las consultas
+ * al modelo de lectura para una página.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GalleryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int tableSize;
+
+    private List<Character> characters;
+    private List<Character> page;
+    private CloneLineageReadModel readModel;
+
+    @Setup
+    public void setUp() {
+        characters = BenchFixtures.characters(tableSize, 0.3, 42);
+        page = characters.subList(characters.size() - 24, characters.size());
+        readModel = new CloneLineageReadModel(null, null);
+        for (Character character : characters) {
+            readModel.onCharacterSaved(new CharacterSavedEvent(character));
+        }
+    }
+
+    /** La agregación que hacía la galería en cada petición antes de paginar. */
+    @Benchmark
+    public void fullScanAggregation(Blackhole bh) {
+        Map<Long, List<Character>> clonesByOriginalId = characters.stream()
+                .filter(c -> c.getClonedFromId() != null)
+                .collect(Collectors.groupingBy(Character::getClonedFromId));
+        Map<Long, String> originalNames = characters.stream()
+                .collect(Collectors.toMap(Character::getId, Character::getName));
+        bh.consume(clonesByOriginalId);
+        bh.consume(originalNames);
+    }
+
+    /** Lo que hace ahora CharacterController.gallery para una página de 24 tarjetas. */
+    @Benchmark
+    public void readModelPage(Blackhole bh) {
+        Map<Long, Long> firstCloneIds = new HashMap<>();
+        Map<Long, String> originalNames = new HashMap<>();
+        for (Character character : page) {
+            Long firstCloneId = readModel.firstCloneId(character.getId());
+            if (firstCloneId != null) {
+                firstCloneIds.put(character.getId(), firstCloneId);
+            }
+            if (character.getClonedFromId() != null) {
+                originalNames.put(character.getClonedFromId(), readModel.nameOf(character.getClonedFromId()));
+            }
+        }
+        bh.consume(firstCloneIds);
+        bh.consume(originalNames);
+    }
+}
@@ -0,0 +1,69 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.CharacterCard;
+import com.rpgforge.service.CharacterService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una página de 24 tarjetas sobre 100k personajes en H2, cargada por id como en la galería con filtros:
+ * entidades Character completas (lo que cargaba la galería) frente a la proyección CharacterCard.
+ * Ejecutar con -prof gc para ver los bytes asignados por página. Las páginas alternan entre dos conjuntos de ids
+ * para que H2 no devuelva el resultado cacheado de la consulta anterior.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GalleryPageBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 10_000;
+    private static final int PAGE_SIZE = 24;
+
+    private ConfigurableApplicationContext context;
+    private CharacterService characterService;
+    private final List<List<Long>> pages = new ArrayList<>();
+    private int call;
+
+    @Setup
+    public void setUp() {
+        context = BenchFixtures.startApplication();
+        characterService = context.getBean(CharacterService.class);
+        List<Character> characters = BenchFixtures.characters(ROWS, 0.3, 42);
+        characters.forEach(c -> c.setId(null));
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            characterService.saveAll(characters.subList(from, Math.min(ROWS, from + CHUNK)));
+        }
+        long lastId = characters.get(ROWS - 1).getId();
+        for (int p = 0; p < 2; p++) {
+            List<Long> ids = new ArrayList<>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                ids.add(lastId - p * PAGE_SIZE - i);
+            }
+            pages.add(ids);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Character> entityPage() {
+        return characterService.findAllById(pages.get(call++ & 1));
+    }
+
+    @Benchmark
+    public List<CharacterCard> cardPage() {
+        return characterService.findCardsById(pages.get(call++ & 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.LeaderboardEntry;
+import com.rpgforge.service.CharacterSavedEvent;
+import com.rpgforge.service.LeaderboardMetric;
+import com.rpgforge.service.Leaderboards;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Top 100 por suma de atributos": ordenar la tabla completa (lo que haría findAll() + sort) frente a leer
+ * la clasificación mantenida, y el coste de registrar un personaje nuevo en todas las tablas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    private static final int TOP = 100;
+
+    @Param({"100000", "1000000"})
+    public int tableSize;
+
+    private List<Character> characters;
+    private Leaderboards leaderboards;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        characters = BenchFixtures.characters(tableSize, 0.3, 42);
+        leaderboards = new Leaderboards(null, null, TOP);
+        for (Character character : characters) {
+            leaderboards.onCharacterSaved(new CharacterSavedEvent(character));
+        }
+    }
+
+    @Benchmark
+    public List<Character> sortFullTable() {
+        return characters.stream()
+                .sorted(Comparator.<Character>comparingInt(LeaderboardMetric.TOTAL_STATS::score).reversed()
+                        .thenComparing(Character::getId))
+                .limit(TOP)
+                .toList();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> readTopK() {
+        return leaderboards.top(LeaderboardMetric.TOTAL_STATS, null, TOP);
+    }
+
+    @Benchmark
+    public void recordSave() {
+        Character character = characters.get(next);
+        next = next + 1 == characters.size() ? 0 : next + 1;
+        leaderboards.onCharacterSaved(new CharacterSavedEvent(character));
+    }
+}
@@ -0,0 +1,89 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.BulkCloneDTO;
+import com.rpgforge.dto.FamilyTree;
+import com.rpgforge.dto.LineageNode;
+import com.rpgforge.service.CharacterRegistry;
+import com.rpgforge.service.CharacterService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de linaje sobre H2 con un árbol profundo (cadena de 1000 niveles) y uno ancho (10k hijos):
+ * la ruta materializada frente a seguir clonedFromId con una consulta por nivel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LineageBenchmark {
+
+    private static final int DEPTH = 1000;
+    private static final int WIDTH = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private CharacterService characterService;
+    private long deepestId;
+    private long wideRootId;
+
+    @Setup
+    public void setUp() {
+        context = BenchFixtures.startApplication();
+        characterService = context.getBean(CharacterService.class);
+        CharacterRegistry registry = context.getBean(CharacterRegistry.class);
+        List<Character> seeds = characterService.findAll();
+
+        BulkCloneDTO one = new BulkCloneDTO();
+        one.setNamePattern("Nivel {n}");
+        long id = seeds.get(0).getId();
+        for (int i = 0; i < DEPTH; i++) {
+            id = registry.cloneMany(id, one).firstId();
+        }
+        deepestId = id;
+
+        BulkCloneDTO wide = new BulkCloneDTO();
+        wide.setNamePattern("Hijo {n}");
+        wide.setCount(WIDTH);
+        wideRootId = seeds.get(1).getId();
+        registry.cloneMany(wideRootId, wide);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LineageNode> deepAncestorsMaterializedPath() {
+        return characterService.findAncestors(deepestId);
+    }
+
+    /** Lo que haría falta sin índice de linaje: una lectura por nivel siguiendo clonedFromId. */
+    @Benchmark
+    public List<Long> deepAncestorsParentWalk() {
+        List<Long> chain = new ArrayList<>();
+        Long parent = characterService.findById(deepestId).orElseThrow().getClonedFromId();
+        while (parent != null) {
+            chain.add(parent);
+            parent = characterService.findById(parent).orElseThrow().getClonedFromId();
+        }
+        return chain;
+    }
+
+    @Benchmark
+    public FamilyTree deepFamily() {
+        return characterService.findFamily(deepestId);
+    }
+
+    @Benchmark
+    public FamilyTree wideFamily() {
+        return characterService.findFamily(wideRootId);
+    }
+}
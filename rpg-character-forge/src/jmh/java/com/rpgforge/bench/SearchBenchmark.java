@@ -0,0 +1,60 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.service.CharacterSavedEvent;
+import com.rpgforge.service.CharacterSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Elfo Mago con Teletransporte", primera página de 24: filtrado en Java sobre la tabla completa
+ * (lo que haría findAllByOrderByCreatedAtDesc() + stream) frente a la intersección de postings del índice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 24;
+
+    @Param({"100000", "1000000"})
+    public int tableSize;
+
+    private List<Character> characters;
+    private CharacterSearchIndex index;
+    private int skillsMask;
+
+    @Setup
+    public void setUp() {
+        characters = BenchFixtures.characters(tableSize, 0.3, 42);
+        index = new CharacterSearchIndex(null, null);
+        for (Character character : characters) {
+            index.onCharacterSaved(new CharacterSavedEvent(character));
+        }
+        skillsMask = CharacterCatalog.skillsMask(List.of("Teletransporte"));
+    }
+
+    @Benchmark
+    public List<Long> scanAndFilter() {
+        return characters.stream()
+                .filter(c -> "Elfo".equals(c.getRace()))
+                .filter(c -> "Mago".equals(c.getCharacterClass()))
+                .filter(c -> (c.getSkillsMask() & skillsMask) == skillsMask)
+                .sorted(Comparator.comparing(Character::getId).reversed())
+                .limit(PAGE_SIZE)
+                .map(Character::getId)
+                .toList();
+    }
+
+    @Benchmark
+    public CharacterSearchIndex.Hits indexIntersection() {
+        return index.search("Mago", "Elfo", skillsMask, 0, null, null, PAGE_SIZE);
+    }
+}
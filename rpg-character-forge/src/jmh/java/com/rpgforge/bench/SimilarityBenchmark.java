@@ -0,0 +1,133 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.Stat;
+import com.rpgforge.repository.CharacterRepository;
+import com.rpgforge.service.CharacterSavedEvent;
+import com.rpgforge.service.SimilarityIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Los 20 más parecidos" a un personaje: distancia a todos los de findAll() y ordenar, frente a SimilarityIndex.
+ * El índice se carga como al arrancar y luego recibe 4096 personajes más por eventos, la mitad del umbral de
+ * reconstrucción: el tamaño medio del búfer que se recorre en cada consulta con tráfico de clonación.
+ * Antes de medir se comprueba que ambos devuelven los mismos vecinos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SimilarityBenchmark {
+
+    private static final int K = 20;
+    private static final int PENDING = 4096;
+
+    @Param({"100000", "1000000"})
+    public int tableSize;
+
+    private List<Character> characters;
+    private SimilarityIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        characters = BenchFixtures.characters(tableSize + PENDING, 0.3, 42);
+        List<Character> loaded = characters.subList(0, tableSize);
+        CharacterRepository repository = (CharacterRepository) Proxy.newProxyInstance(
+                CharacterRepository.class.getClassLoader(),
+                new Class<?>[]{CharacterRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("streamStats")) {
+                        return loaded.stream().map(SimilarityBenchmark::statsRow);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        index = new SimilarityIndex(repository, new NoTransactionManager());
+        index.afterSingletonsInstantiated();
+        for (Character character : characters.subList(tableSize, characters.size())) {
+            index.onCharacterSaved(new CharacterSavedEvent(character));
+        }
+        for (int i = 0; i < 50; i++) {
+            Character reference = characters.get(i * 997 % characters.size());
+            List<Long> expected = bruteForce(reference);
+            List<Long> actual = indexed(reference);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Vecinos distintos para " + reference.getId()
+                        + ": " + expected + " / " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Long> scanFindAll() {
+        return bruteForce(nextReference());
+    }
+
+    @Benchmark
+    public List<Long> kdTree() {
+        return indexed(nextReference());
+    }
+
+    private Character nextReference() {
+        next = next + 7919 >= characters.size() ? (next + 7919) % characters.size() : next + 7919;
+        return characters.get(next);
+    }
+
+    private List<Long> bruteForce(Character reference) {
+        return characters.stream()
+                .filter(c -> !c.getId().equals(reference.getId()))
+                .sorted(Comparator.<Character>comparingInt(c -> squaredDistance(reference, c))
+                        .thenComparing(Character::getId))
+                .limit(K)
+                .map(Character::getId)
+                .toList();
+    }
+
+    private List<Long> indexed(Character reference) {
+        return index.nearest(SimilarityIndex.vectorOf(reference), K, reference.getId()).stream()
+                .map(SimilarityIndex.Neighbour::id)
+                .toList();
+    }
+
+    private static int squaredDistance(Character a, Character b) {
+        int sum = 0;
+        for (Stat stat : Stat.values()) {
+            int diff = stat.valueOf(a) - stat.valueOf(b);
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static Object[] statsRow(Character c) {
+        return new Object[]{c.getId(), c.getCharacterClass(), c.getLevel(), c.getStrength(), c.getAgility(),
+                c.getIntelligence(), c.getVitality(), c.getLuck()};
+    }
+
+    /** La carga inicial abre una transacción de solo lectura; aquí no hay base de datos. */
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.ClassStats;
+import com.rpgforge.dto.StatQuery;
+import com.rpgforge.service.CharacterService;
+import com.rpgforge.service.StatColumns;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preguntas analíticas sobre 100k personajes en H2: la consulta JPQL equivalente frente al recorrido de StatColumns.
+ * - rango: cuántos tienen STR > 80 y AGI > 60
+ * - agregado: número y media de INT por clase (nivel mínimo 1 o 2)
+ * El umbral alterna entre dos valores en cada llamada porque H2 reutiliza el último resultado de una consulta
+ * idéntica si la tabla no ha cambiado, y eso mediría su caché en lugar de la consulta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private StatColumns statColumns;
+    private final StatQuery[] strongAndAgile = new StatQuery[2];
+    private final StatQuery[] minLevel = new StatQuery[2];
+    private int call;
+
+    @Setup
+    public void setUp() {
+        context = BenchFixtures.startApplication();
+        entityManager = context.getBean(EntityManager.class);
+        statColumns = context.getBean(StatColumns.class);
+        CharacterService characterService = context.getBean(CharacterService.class);
+        List<Character> characters = BenchFixtures.characters(ROWS, 0, 42);
+        characters.forEach(c -> c.setId(null));
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            characterService.saveAll(characters.subList(from, Math.min(ROWS, from + CHUNK)));
+        }
+        for (int i = 0; i < 2; i++) {
+            strongAndAgile[i] = StatQuery.from(Map.of("minStrength", String.valueOf(81 + i), "minAgility", "61"));
+            minLevel[i] = StatQuery.from(Map.of("minLevel", String.valueOf(1 + i)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long rangeJpql() {
+        return entityManager.createQuery(
+                        "SELECT COUNT(c) FROM Character c WHERE c.strength >= :minStrength AND c.agility > 60", Long.class)
+                .setParameter("minStrength", 81 + (call++ & 1))
+                .getSingleResult();
+    }
+
+    @Benchmark
+    public int rangeColumnar() {
+        return statColumns.filter(strongAndAgile[call++ & 1], 24).total();
+    }
+
+    @Benchmark
+    public List<Object[]> byClassJpql() {
+        return entityManager.createQuery(
+                        "SELECT c.characterClass, COUNT(c), AVG(c.intelligence) FROM Character c "
+                                + "WHERE c.level >= :minLevel GROUP BY c.characterClass", Object[].class)
+                .setParameter("minLevel", 1 + (call++ & 1))
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<ClassStats> byClassColumnar() {
+        return statColumns.aggregateByClass(minLevel[call++ & 1]);
+    }
+}
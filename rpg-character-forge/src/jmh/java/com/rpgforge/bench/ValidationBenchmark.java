@@ -0,0 +1,106 @@
+package com.rpgforge.bench;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.CharacterValidation;
+import com.rpgforge.dto.CharacterFormDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de un lote de 10.000 personajes (uno de cada cinco inválido: nombre vacío, estadística fuera de
+ * rango o demasiadas habilidades), en paralelo como en la importación:
+ * Bean Validation sobre CharacterFormDTO y después Builder.build(), frente a Builder.tryBuild().
+ * Ambos aplican las reglas de CharacterRules y devuelven, por fila, el personaje o sus infracciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private List<CharacterFormDTO> batch;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        SplittableRandom random = new SplittableRandom(42);
+        batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Character character = BenchFixtures.randomCharacter(random, "Personaje " + i);
+            CharacterFormDTO form = new CharacterFormDTO();
+            form.setName(character.getName());
+            form.setRace(character.getRace());
+            form.setCharacterClass(character.getCharacterClass());
+            form.setLevel(character.getLevel());
+            form.setStrength(character.getStrength());
+            form.setAgility(character.getAgility());
+            form.setIntelligence(character.getIntelligence());
+            form.setVitality(character.getVitality());
+            form.setLuck(character.getLuck());
+            form.setSkills(CharacterCatalog.skillNames(random.nextInt(16)));
+            form.setEquipment(CharacterCatalog.equipmentNames(random.nextInt(8)));
+            switch (i % 15) {
+                case 0 -> form.setName(" ");
+                case 5 -> form.setLuck(150);
+                case 10 -> form.setSkills(CharacterCatalog.SKILLS.subList(0, 5));
+                default -> { }
+            }
+            batch.add(form);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public List<Object> beanValidationThenBuild() {
+        return batch.parallelStream()
+                .map(form -> {
+                    Set<ConstraintViolation<CharacterFormDTO>> violations = validator.validate(form);
+                    return violations.isEmpty() ? (Object) builder(form).build() : violations;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<CharacterValidation> builderTryBuild() {
+        return batch.parallelStream()
+                .map(form -> builder(form).tryBuild())
+                .toList();
+    }
+
+    private static Character.Builder builder(CharacterFormDTO form) {
+        return new Character.Builder()
+                .name(form.getName())
+                .race(form.getRace())
+                .characterClass(form.getCharacterClass())
+                .level(form.getLevel())
+                .strength(form.getStrength())
+                .agility(form.getAgility())
+                .intelligence(form.getIntelligence())
+                .vitality(form.getVitality())
+                .luck(form.getLuck())
+                .skills(form.getSkills())
+                .equipment(form.getEquipment());
+    }
+}
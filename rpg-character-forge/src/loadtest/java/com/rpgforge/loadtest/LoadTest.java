@@ -0,0 +1,245 @@
+package com.rpgforge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga extremo a extremo contra una aplicación ya arrancada (por ejemplo con
+ * --rpgforge.generator.count=100000 para tener datos). Escenarios: wizard, clone, gallery, compare y mixed.
+ *
+ * Dos modelos de carga:
+ * <ul>
+ *   <li>closed: clients usuarios que repiten iteraciones sin pausa (o con think-ms entre ellas); la carga se
+ *       adapta a lo que aguanta el servidor y la latencia es la de cada iteración.</li>
+ *   <li>open: llegadas de Poisson a rate iteraciones/s, cada una un usuario nuevo, independientemente de lo
+ *       que tarde el servidor. La latencia de la iteración se mide desde el instante en que debía empezar, así
+ *       que incluye la espera si el generador se retrasa (sin omisión coordinada). Por encima de max-in-flight
+ *       iteraciones simultáneas las llegadas se descartan y se cuentan en dropped.</li>
+ * </ul>
+ * Tras warmup segundos sin registrar se mide durante duration segundos y se escribe un informe JSON (en output o
+ * en la salida estándar) con throughput y percentiles por iteración y por petición, con las claves ordenadas
+ * para poder comparar informes de dos versiones con diff.
+ *
+ * Ejecutar: mvn -Ploadtest compile exec:exec -Dload.args="--scenario=mixed --model=open --rate=200"
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Opciones (--clave=valor): " + DEFAULTS);
+            System.exit(2);
+            return;
+        }
+        URI baseUrl = URI.create(options.get("base-url"));
+        Scenario scenario = Scenario.fromSlug(options.get("scenario"));
+        String model = options.get("model");
+        int warmup = Integer.parseInt(options.get("warmup"));
+        int duration = Integer.parseInt(options.get("duration"));
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.get("seed")));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(daemon("load-http")))
+                .build();
+        Targets targets = Targets.load(client, baseUrl, objectMapper);
+        Results results = new Results();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.slug());
+        report.put("model", model);
+        report.put("baseUrl", baseUrl.toString());
+        report.put("startedAt", Instant.now().toString());
+        report.put("seed", Long.parseLong(options.get("seed")));
+        report.put("warmupSeconds", warmup);
+        report.put("durationSeconds", duration);
+        report.put("targets", targets.size());
+
+        double measuredSeconds;
+        switch (model) {
+            case "closed" -> {
+                int clients = Integer.parseInt(options.get("clients"));
+                long thinkMillis = Long.parseLong(options.get("think-ms"));
+                report.put("clients", clients);
+                report.put("thinkMillis", thinkMillis);
+                measuredSeconds = runClosed(scenario, client, baseUrl, targets, results, random,
+                        clients, thinkMillis, warmup, duration);
+            }
+            case "open" -> {
+                double rate = Double.parseDouble(options.get("rate"));
+                int maxInFlight = Integer.parseInt(options.get("max-in-flight"));
+                LongAdder dropped = new LongAdder();
+                report.put("ratePerSecond", rate);
+                report.put("maxInFlight", maxInFlight);
+                measuredSeconds = runOpen(scenario, client, baseUrl, targets, results, random,
+                        rate, maxInFlight, dropped, warmup, duration);
+                report.put("dropped", dropped.sum());
+            }
+            default -> throw new IllegalArgumentException("Modelo desconocido (closed u open): " + model);
+        }
+
+        report.put("measuredSeconds", Math.round(measuredSeconds * 1000) / 1000.0);
+        report.put("iterations", results.iterationSummary(measuredSeconds));
+        report.put("requests", results.requestSummary(measuredSeconds));
+
+        String output = options.get("output");
+        if (output.isEmpty()) {
+            System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        } else {
+            try (OutputStream out = Files.newOutputStream(Path.of(output))) {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, report);
+            }
+            System.err.println("Informe escrito en " + output);
+        }
+    }
+
+    /** Cada cliente repite iteraciones con sus propias cookies hasta el final de la medición. */
+    private static double runClosed(Scenario scenario, HttpClient client, URI baseUrl, Targets targets,
+                                    Results results, SplittableRandom random, int clients, long thinkMillis,
+                                    int warmup, int duration) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup + duration);
+        ExecutorService pool = Executors.newFixedThreadPool(clients, daemon("load-client"));
+        for (int i = 0; i < clients; i++) {
+            SplittableRandom clientRandom = random.split();
+            VirtualUser user = new VirtualUser(client, baseUrl, results);
+            pool.execute(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    Scenario concrete = scenario.pick(clientRandom);
+                    boolean ok = concrete.run(user, targets, clientRandom);
+                    results.iteration(concrete.slug(), (System.nanoTime() - start) / 1_000, ok ? null : "failed");
+                    if (thinkMillis > 0) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(thinkMillis));
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        TimeUnit.SECONDS.sleep(warmup);
+        results.startRecording();
+        long measureStart = System.nanoTime();
+        LockSupport.parkNanos(end - measureStart);
+        results.stopRecording();
+        double measured = (System.nanoTime() - measureStart) / 1e9;
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return measured;
+    }
+
+    /** Llegadas de Poisson; cada una es un usuario nuevo que ejecuta una iteración en su propio hilo. */
+    private static double runOpen(Scenario scenario, HttpClient client, URI baseUrl, Targets targets,
+                                  Results results, SplittableRandom random, double rate, int maxInFlight,
+                                  LongAdder dropped, int warmup, int duration) throws InterruptedException {
+        double meanIntervalNanos = 1e9 / rate;
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(duration);
+        ExecutorService pool = Executors.newCachedThreadPool(daemon("load-user"));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long next = System.nanoTime();
+        boolean recording = false;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!recording && next >= measureStart) {
+                results.startRecording();
+                recording = true;
+            }
+            long intendedStart = next;
+            SplittableRandom userRandom = random.split();
+            if (inFlight.tryAcquire()) {
+                pool.execute(() -> {
+                    try {
+                        VirtualUser user = new VirtualUser(client, baseUrl, results);
+                        Scenario concrete = scenario.pick(userRandom);
+                        boolean ok = concrete.run(user, targets, userRandom);
+                        results.iteration(concrete.slug(), (System.nanoTime() - intendedStart) / 1_000,
+                                ok ? null : "failed");
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else if (recording) {
+                dropped.increment();
+            }
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+        // Las iteraciones que llegaron dentro de la ventana cuentan aunque terminen después
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        results.stopRecording();
+        return duration;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento no válido: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Opción desconocida: " + key);
+            }
+            options.put(key, arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("base-url", "http://localhost:8080");
+        defaults.put("scenario", "mixed");
+        defaults.put("model", "closed");
+        defaults.put("clients", "16");
+        defaults.put("think-ms", "0");
+        defaults.put("rate", "100");
+        defaults.put("max-in-flight", "1000");
+        defaults.put("warmup", "10");
+        defaults.put("duration", "30");
+        defaults.put("seed", "42");
+        defaults.put("output", "");
+        return defaults;
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.rpgforge.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores por operación ("gallery", "wizard.step2"...) y por iteración de escenario.
+ * Solo registra mientras recording está activo: lo que ocurre durante el calentamiento se descarta.
+ */
+final class Results {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentMap<String, Series> requests = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Series> iterations = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void request(String operation, long micros, String error) {
+        if (recording) {
+            requests.computeIfAbsent(operation, k -> new Series()).record(micros, error);
+        }
+    }
+
+    void iteration(String scenario, long micros, String error) {
+        if (recording) {
+            iterations.computeIfAbsent(scenario, k -> new Series()).record(micros, error);
+        }
+    }
+
+    /** Resumen ordenado por nombre, para que dos informes se puedan comparar con diff. */
+    Map<String, Map<String, Object>> requestSummary(double seconds) {
+        return summary(requests, seconds);
+    }
+
+    Map<String, Map<String, Object>> iterationSummary(double seconds) {
+        return summary(iterations, seconds);
+    }
+
+    private static Map<String, Map<String, Object>> summary(Map<String, Series> series, double seconds) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        series.forEach((name, s) -> summary.put(name, s.summary(seconds)));
+        return summary;
+    }
+
+    private static final class Series {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+        void record(long micros, String error) {
+            latencies.record(micros);
+            if (error != null) {
+                errors.increment();
+                errorsByCause.computeIfAbsent(error, k -> new LongAdder()).increment();
+            }
+        }
+
+        Map<String, Object> summary(double seconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", latencies.count());
+            summary.put("errors", errors.sum());
+            summary.put("throughputPerSecond", round(latencies.count() / seconds));
+            summary.put("meanMs", round(latencies.meanMillis()));
+            for (double percentile : PERCENTILES) {
+                String label = percentile == Math.rint(percentile)
+                        ? String.valueOf((int) percentile)
+                        : String.valueOf(percentile).replace(".", "");
+                summary.put("p" + label + "Ms", round(latencies.percentileMillis(percentile)));
+            }
+            summary.put("maxMs", round(latencies.maxMillis()));
+            if (!errorsByCause.isEmpty()) {
+                Map<String, Long> causes = new TreeMap<>();
+                errorsByCause.forEach((cause, n) -> causes.put(cause, n.sum()));
+                summary.put("errorCauses", causes);
+            }
+            return summary;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
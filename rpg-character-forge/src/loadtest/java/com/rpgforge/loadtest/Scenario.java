@@ -0,0 +1,130 @@
+package com.rpgforge.loadtest;
+
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.CharacterRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Escenarios de carga: una iteración es el recorrido completo de un usuario (los 4 pasos del wizard, una
+ * clonación, una visita a la galería con su página siguiente o una comparación). run() devuelve false si
+ * alguna petición de la iteración falló; las peticiones posteriores a un fallo no se envían.
+ */
+enum Scenario {
+
+    WIZARD {
+        @Override
+        boolean run(VirtualUser user, Targets targets, SplittableRandom random) {
+            List<String> step3 = new ArrayList<>();
+            for (String skill : sample(random, CharacterCatalog.SKILLS, CharacterRules.MAX_SKILLS)) {
+                step3.add("skills");
+                step3.add(skill);
+            }
+            List<String> step4 = new ArrayList<>();
+            for (String item : sample(random, CharacterCatalog.EQUIPMENT, CharacterRules.MAX_EQUIPMENT)) {
+                step4.add("equipment");
+                step4.add(item);
+            }
+            return user.postForm("wizard.step1", "/wizard/step1", "/wizard/step2",
+                    "name", "Carga " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                    "race", RACES.get(random.nextInt(RACES.size())),
+                    "characterClass", CLASSES.get(random.nextInt(CLASSES.size())),
+                    "level", stat(random))
+                    && user.postForm("wizard.step2", "/wizard/step2", "/wizard/step3",
+                    "strength", stat(random), "agility", stat(random), "intelligence", stat(random),
+                    "vitality", stat(random), "luck", stat(random))
+                    && user.postForm("wizard.step3", "/wizard/step3", "/wizard/step4", step3.toArray(String[]::new))
+                    && user.postForm("wizard.step4", "/wizard/step4", "/gallery", step4.toArray(String[]::new));
+        }
+    },
+
+    CLONE {
+        @Override
+        boolean run(VirtualUser user, Targets targets, SplittableRandom random) {
+            long id = targets.pick(random);
+            // Una de cada cinco copias cambia también la clase, como en el modal de clonación
+            String characterClass = random.nextInt(5) == 0 ? CLASSES.get(random.nextInt(CLASSES.size())) : "";
+            return user.postForm("clone", "/clone/" + id, "/gallery",
+                    "name", "Copia " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                    "characterClass", characterClass);
+        }
+    },
+
+    GALLERY {
+        @Override
+        boolean run(VirtualUser user, Targets targets, SplittableRandom random) {
+            String page = user.get("gallery", "/gallery");
+            if (page == null) {
+                return false;
+            }
+            Matcher next = NEXT_PAGE.matcher(page);
+            return !next.find() || user.get("gallery.next", next.group(1).replace("&amp;", "&")) != null;
+        }
+    },
+
+    COMPARE {
+        @Override
+        boolean run(VirtualUser user, Targets targets, SplittableRandom random) {
+            return user.get("compare", "/compare?original=" + targets.pick(random)) != null;
+        }
+    },
+
+    /** Mezcla de lectura mayoritaria: galería 60 %, comparación 20 %, clonación 15 %, wizard 5 %. */
+    MIXED {
+        @Override
+        Scenario pick(SplittableRandom random) {
+            int roll = random.nextInt(100);
+            return roll < 60 ? GALLERY : roll < 80 ? COMPARE : roll < 95 ? CLONE : WIZARD;
+        }
+
+        @Override
+        boolean run(VirtualUser user, Targets targets, SplittableRandom random) {
+            return pick(random).run(user, targets, random);
+        }
+    };
+
+    private static final List<String> CLASSES = List.of("Guerrero", "Mago", "Arquero", "Paladín", "Asesino");
+    private static final List<String> RACES = List.of("Humano", "Elfo", "Enano", "Orco", "Mediano");
+    private static final Pattern NEXT_PAGE = Pattern.compile("href=\"(/gallery\\?after=[^\"]+)\"");
+
+    /** Escenario concreto de la siguiente iteración; MIXED elige uno según sus pesos. */
+    Scenario pick(SplittableRandom random) {
+        return this;
+    }
+
+    abstract boolean run(VirtualUser user, Targets targets, SplittableRandom random);
+
+    String slug() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Scenario fromSlug(String slug) {
+        for (Scenario scenario : values()) {
+            if (scenario.slug().equals(slug)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + slug);
+    }
+
+    private static String stat(SplittableRandom random) {
+        return String.valueOf(random.nextInt(1, 101));
+    }
+
+    /** Hasta max elementos distintos del catálogo, en orden del catálogo. */
+    private static List<String> sample(SplittableRandom random, List<String> catalog, int max) {
+        int count = random.nextInt(max + 1);
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < catalog.size() && picked.size() < count; i++) {
+            if (random.nextInt(catalog.size() - i) < count - picked.size()) {
+                picked.add(catalog.get(i));
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,51 @@
+package com.rpgforge.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ids existentes sobre los que clonar y comparar, leídos una vez antes de la carga del ranking por nivel
+ * (/api/characters/leaderboards/level): los personajes más altos son también los que más se clonan.
+ */
+final class Targets {
+
+    private final long[] ids;
+
+    private Targets(long[] ids) {
+        this.ids = ids;
+    }
+
+    static Targets load(HttpClient client, URI baseUrl, ObjectMapper objectMapper) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(baseUrl.resolve("/api/characters/leaderboards/level?limit=100")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudieron leer los ids de prueba: HTTP " + response.statusCode());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode entry : objectMapper.readTree(response.body())) {
+            ids.add(entry.path("id").asLong());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("La aplicación no tiene personajes sobre los que clonar o comparar");
+        }
+        return new Targets(ids.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    long pick(SplittableRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    int size() {
+        return ids.length;
+    }
+}
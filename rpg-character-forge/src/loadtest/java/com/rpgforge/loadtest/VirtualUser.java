@@ -0,0 +1,134 @@
+package com.rpgforge.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un cliente simulado: comparte el HttpClient con el resto pero tiene sus propias cookies, así que el estado del
+ * wizard (sesión o token firmado, según rpgforge.wizard.state) viaja con él igual que en un navegador.
+ * Cada petición se registra en Results con su latencia y, si falla, el motivo (estado HTTP inesperado,
+ * redirección a otro sitio o excepción).
+ */
+final class VirtualUser {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final Results results;
+    private final Map<String, String> cookies = new HashMap<>();
+
+    VirtualUser(HttpClient client, URI baseUrl, Results results) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.results = results;
+    }
+
+    /** GET que espera 200; devuelve el cuerpo, o null si falló. */
+    String get(String operation, String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(TIMEOUT).GET();
+        HttpResponse<String> response = send(operation, request);
+        if (response == null) {
+            return null;
+        }
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+
+    /**
+     * POST de formulario que espera una redirección cuyo destino contenga expectedLocation
+     * (el controlador redirige a la misma página o a la galería con cloneId cuando la validación falla).
+     */
+    boolean postForm(String operation, String path, String expectedLocation, String... fields) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form(fields)));
+        HttpResponse<String> response = send(operation, request, expectedLocation);
+        return response != null;
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest.Builder request) {
+        return send(operation, request, null);
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest.Builder request, String expectedLocation) {
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookieHeader());
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            results.request(operation, micros(start), e.getClass().getSimpleName());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.request(operation, micros(start), "interrupted");
+            return null;
+        }
+        long micros = micros(start);
+        storeCookies(response.headers().allValues("Set-Cookie"));
+
+        String error = null;
+        if (expectedLocation == null) {
+            if (response.statusCode() != 200) {
+                error = "status " + response.statusCode();
+            }
+        } else if (response.statusCode() != 302 && response.statusCode() != 303) {
+            error = "status " + response.statusCode();
+        } else if (!response.headers().firstValue("Location").orElse("").contains(expectedLocation)) {
+            error = "redirect " + URI.create(response.headers().firstValue("Location").orElse("")).getPath();
+        }
+        results.request(operation, micros, error);
+        return error == null ? response : null;
+    }
+
+    /** Solo nombre=valor: sin dominios ni rutas, todas las cookies se envían al mismo servidor. */
+    private void storeCookies(List<String> setCookies) {
+        for (String setCookie : setCookies) {
+            String pair = setCookie.split(";", 2)[0];
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            String name = pair.substring(0, eq).trim();
+            String value = pair.substring(eq + 1).trim();
+            if (value.isEmpty() || setCookie.toLowerCase().contains("max-age=0")) {
+                cookies.remove(name);
+            } else {
+                cookies.put(name, value);
+            }
+        }
+    }
+
+    private String cookieHeader() {
+        StringBuilder header = new StringBuilder();
+        cookies.forEach((name, value) -> header.append(header.length() > 0 ? "; " : "").append(name).append('=').append(value));
+        return header.toString();
+    }
+
+    private static String form(String... fields) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            body.append(body.length() > 0 ? "&" : "")
+                    .append(URLEncoder.encode(fields[i], StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(fields[i + 1], StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000;
+    }
+}
@@ -0,0 +1,31 @@
+package com.rpgforge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Activa DbConcurrencyLimitInterceptor cuando se define rpgforge.web.db-concurrency-limit
+ * (lo hace el perfil "virtual"). Solo cubre las rutas que abren transacción.
+ */
+@Configuration
+@ConditionalOnProperty("rpgforge.web.db-concurrency-limit")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitConfig(@Value("${rpgforge.web.db-concurrency-limit}") int maxConcurrent,
+                                  @Value("${rpgforge.web.db-acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DbConcurrencyLimitInterceptor(maxConcurrent, acquireTimeoutMs))
+                .addPathPatterns("/gallery", "/compare", "/clone/**", "/wizard/step4", "/api/**");
+    }
+}
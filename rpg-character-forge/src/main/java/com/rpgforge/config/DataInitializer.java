@@ -2,21 +2,29 @@ package com.rpgforge.config;
 
 import com.rpgforge.domain.Character;
 import com.rpgforge.repository.CharacterRepository;
+import com.rpgforge.service.CharacterSnapshotService;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Crea 3 personajes de ejemplo al arrancar usando Character.Builder.
+ * Si hay instantánea configurada (rpgforge.snapshot.path) y existe, se restaura en su lugar.
  */
 @Component
 public class DataInitializer {
 
     private final CharacterRepository characterRepository;
+    private final ObjectProvider<CharacterSnapshotService> snapshotService;
 
-    public DataInitializer(CharacterRepository characterRepository) {
+    public DataInitializer(CharacterRepository characterRepository,
+                           ObjectProvider<CharacterSnapshotService> snapshotService) {
         this.characterRepository = characterRepository;
+        this.snapshotService = snapshotService;
     }
 
     @PostConstruct
@@ -24,6 +32,10 @@ public class DataInitializer {
         if (characterRepository.count() > 0) {
             return;
         }
+        CharacterSnapshotService snapshots = snapshotService.getIfAvailable();
+        if (snapshots != null && snapshots.restore()) {
+            return;
+        }
 
         // ═══ PATRÓN BUILDER ═══ — Construcción de personajes con el Builder
         Character ragnar = new Character.Builder()
@@ -36,8 +48,8 @@ public class DataInitializer {
                 .intelligence(30)
                 .vitality(80)
                 .luck(40)
-                .skills("Golpe brutal, Escudo divino, Furia berserker")
-                .equipment("Espada larga, Armadura de placas, Escudo de roble")
+                .skills(List.of("Golpe brutal", "Escudo divino", "Furia berserker"))
+                .equipment(List.of("Espada larga", "Armadura de placas", "Escudo de roble"))
                 .build();
         characterRepository.save(ragnar);
 
@@ -51,8 +63,8 @@ public class DataInitializer {
                 .intelligence(95)
                 .vitality(40)
                 .luck(75)
-                .skills("Rayo de hielo, Teletransporte, Invocar familiar")
-                .equipment("Bastón mágico, Capa de invisibilidad")
+                .skills(List.of("Rayo de hielo", "Teletransporte", "Invocar familiar"))
+                .equipment(List.of("Bastón mágico", "Capa de invisibilidad"))
                 .build();
         characterRepository.save(sylvana);
 
@@ -66,8 +78,8 @@ public class DataInitializer {
                 .intelligence(25)
                 .vitality(55)
                 .luck(60)
-                .skills("Flecha de fuego, Veneno letal, Invisibilidad")
-                .equipment("Arco élfico, Daga envenenada, Botas veloces")
+                .skills(List.of("Flecha de fuego", "Veneno letal", "Invisibilidad"))
+                .equipment(List.of("Arco élfico", "Daga envenenada", "Botas veloces"))
                 .build();
         characterRepository.save(drak);
     }
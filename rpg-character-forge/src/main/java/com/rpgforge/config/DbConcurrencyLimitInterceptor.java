@@ -0,0 +1,70 @@
+package com.rpgforge.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita los controladores que trabajan contra la base de datos a la vez.
+ * Con hilos virtuales Tomcat deja de acotar la concurrencia (no hay pool de hilos), y miles de
+ * peticiones acabarían esperando conexión dentro de Hikari hasta su connection-timeout. Aquí esperan
+ * antes de abrir transacción, en un semáforo justo; pasado acquireTimeoutMs se responde 503.
+ * El permiso se libera al salir del controlador, así que el render de la plantilla no lo ocupa.
+ */
+public class DbConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String HELD = DbConcurrencyLimitInterceptor.class.getName() + ".held";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public DbConcurrencyLimitInterceptor(int maxConcurrent, long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor saturado, reintente en unos segundos");
+            return false;
+        }
+        request.setAttribute(HELD, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        release(request);
+    }
+
+    /** Cubre los controladores que terminan con excepción, donde postHandle no se invoca. */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(HELD) != null) {
+            request.removeAttribute(HELD);
+            permits.release();
+        }
+    }
+}
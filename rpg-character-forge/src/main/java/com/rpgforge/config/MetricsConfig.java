@@ -0,0 +1,36 @@
+package com.rpgforge.config;
+
+import com.rpgforge.service.ForgeMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentación web: timers de controlador frente a render de plantilla y límite de
+ * cardinalidad para el contador de clones por prototipo.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ViewTimingInterceptor(meterRegistry))
+                .excludePathPatterns("/actuator/**", "/h2-console/**", "/api/**");
+    }
+
+    /** Pasados MAX_PROTOTYPE_TAGS prototipos distintos, los clones de prototipos nuevos dejan de tener serie propia. */
+    @Bean
+    public static MeterFilter prototypeTagLimit() {
+        return MeterFilter.maximumAllowableTags("rpgforge.clones", "prototype",
+                ForgeMetrics.MAX_PROTOTYPE_TAGS, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,73 @@
+package com.rpgforge.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separa el tiempo de cada petición MVC en dos timers etiquetados por vista:
+ * rpgforge.web.handler (controlador + servicios + base de datos, hasta devolver el modelo) y
+ * rpgforge.web.render (plantilla Thymeleaf). Las redirecciones y las respuestas sin vista
+ * solo registran el tiempo de controlador.
+ */
+public class ViewTimingInterceptor implements HandlerInterceptor {
+
+    private static final String START = ViewTimingInterceptor.class.getName() + ".start";
+    private static final String RENDER_START = ViewTimingInterceptor.class.getName() + ".renderStart";
+    private static final String VIEW = ViewTimingInterceptor.class.getName() + ".view";
+
+    private final MeterRegistry registry;
+
+    public ViewTimingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        Long start = (Long) request.getAttribute(START);
+        if (start == null || modelAndView == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        String view = viewTag(modelAndView.getViewName());
+        timer("rpgforge.web.handler", view).record(now - start, TimeUnit.NANOSECONDS);
+        if (!view.equals("redirect")) {
+            request.setAttribute(RENDER_START, now);
+            request.setAttribute(VIEW, view);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Long renderStart = (Long) request.getAttribute(RENDER_START);
+        if (renderStart != null) {
+            timer("rpgforge.web.render", (String) request.getAttribute(VIEW))
+                    .record(System.nanoTime() - renderStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Las redirecciones llevan el destino (y a veces ids) en el nombre: se agrupan en una sola etiqueta. */
+    private static String viewTag(String viewName) {
+        if (viewName == null) {
+            return "none";
+        }
+        return viewName.startsWith("redirect:") ? "redirect" : viewName;
+    }
+
+    private Timer timer(String name, String view) {
+        return Timer.builder(name).tag("view", view).register(registry);
+    }
+}
@@ -0,0 +1,240 @@
+package com.rpgforge.controller;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.CharacterRules;
+import com.rpgforge.dto.BulkCloneDTO;
+import com.rpgforge.dto.BulkCloneResult;
+import com.rpgforge.dto.CharacterSearchDTO;
+import com.rpgforge.dto.CharacterSearchResult;
+import com.rpgforge.dto.ClassStats;
+import com.rpgforge.dto.FamilyTree;
+import com.rpgforge.dto.ImportReport;
+import com.rpgforge.dto.LeaderboardEntry;
+import com.rpgforge.dto.LineageNode;
+import com.rpgforge.dto.PrototypeCacheStats;
+import com.rpgforge.dto.SimilarCharacter;
+import com.rpgforge.dto.StatQuery;
+import com.rpgforge.dto.StatRangeResult;
+import com.rpgforge.service.CharacterExportService;
+import com.rpgforge.service.CharacterImportService;
+import com.rpgforge.service.CharacterNotFoundException;
+import com.rpgforge.service.CharacterRegistry;
+import com.rpgforge.service.CharacterSearchService;
+import com.rpgforge.service.CharacterService;
+import com.rpgforge.service.ExportFormat;
+import com.rpgforge.service.LeaderboardMetric;
+import com.rpgforge.service.Leaderboards;
+import com.rpgforge.service.StatColumns;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API JSON para operaciones masivas que no encajan en las vistas Thymeleaf.
+ */
+@RestController
+@RequestMapping("/api/characters")
+public class CharacterApiController {
+
+    private final CharacterService characterService;
+    private final CharacterRegistry characterRegistry;
+    private final CharacterExportService exportService;
+    private final CharacterImportService importService;
+    private final CharacterSearchService searchService;
+    private final StatColumns statColumns;
+    private final Leaderboards leaderboards;
+
+    public CharacterApiController(CharacterService characterService,
+                                  CharacterRegistry characterRegistry,
+                                  CharacterExportService exportService,
+                                  CharacterImportService importService,
+                                  CharacterSearchService searchService,
+                                  StatColumns statColumns,
+                                  Leaderboards leaderboards) {
+        this.characterService = characterService;
+        this.characterRegistry = characterRegistry;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.searchService = searchService;
+        this.statColumns = statColumns;
+        this.leaderboards = leaderboards;
+    }
+
+    @PostMapping("/{id}/clones")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BulkCloneResult bulkClone(@PathVariable Long id, @Valid @RequestBody BulkCloneDTO request) {
+        String unknownSkill = CharacterCatalog.unknownSkill(request.getSkills());
+        if (unknownSkill != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, CharacterRules.UNKNOWN_SKILL + unknownSkill);
+        }
+        String unknownEquipment = CharacterCatalog.unknownEquipment(request.getEquipment());
+        if (unknownEquipment != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, CharacterRules.UNKNOWN_EQUIPMENT + unknownEquipment);
+        }
+        return characterRegistry.cloneMany(id, request);
+    }
+
+    @GetMapping("/{id}/family")
+    public FamilyTree family(@PathVariable Long id) {
+        return characterService.findFamily(id);
+    }
+
+    @GetMapping("/{id}/ancestors")
+    public List<LineageNode> ancestors(@PathVariable Long id) {
+        return characterService.findAncestors(id);
+    }
+
+    /**
+     * Búsqueda multicriterio sobre el índice invertido.
+     * Ej.: /api/characters/search?race=Elfo&characterClass=Mago&skills=Teletransporte&size=50
+     */
+    @GetMapping("/search")
+    public CharacterSearchResult<Character> search(CharacterSearchDTO criteria,
+                                        @RequestParam(required = false) String after,
+                                        @RequestParam(required = false) String before,
+                                        @RequestParam(defaultValue = "" + CharacterService.DEFAULT_PAGE_SIZE) int size) {
+        if (criteria.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Indique al menos un criterio de búsqueda");
+        }
+        try {
+            return searchService.search(criteria, after, before, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Personajes con las estadísticas en los rangos pedidos, recorriendo la copia columnar.
+     * Ej.: /api/characters/stats/range?minStrength=81&minAgility=61&characterClass=Guerrero&limit=10
+     */
+    @GetMapping("/stats/range")
+    public StatRangeResult statRange(@RequestParam Map<String, String> params,
+                                     @RequestParam(defaultValue = "" + CharacterService.DEFAULT_PAGE_SIZE) int limit) {
+        StatColumns.RangeHits hits = statColumns.filter(statQuery(params),
+                Math.max(0, Math.min(CharacterService.MAX_PAGE_SIZE, limit)));
+        return new StatRangeResult(hits.total(), characterService.findAllById(hits.ids()));
+    }
+
+    /**
+     * Número de personajes y medias por clase, opcionalmente sobre un filtro de rangos.
+     * Ej.: /api/characters/stats/by-class?minLevel=50
+     */
+    @GetMapping("/stats/by-class")
+    public List<ClassStats> statsByClass(@RequestParam Map<String, String> params) {
+        return statColumns.aggregateByClass(statQuery(params));
+    }
+
+    /**
+     * Los k personajes más parecidos a id por nivel y estadísticas (distancia euclídea).
+     * Ej.: /api/characters/42/similar?k=20
+     */
+    @GetMapping("/{id}/similar")
+    public List<SimilarCharacter> similar(@PathVariable Long id, @RequestParam(defaultValue = "20") int k) {
+        return searchService.findSimilar(id, k);
+    }
+
+    /**
+     * Clasificación top-K por nivel o por suma de atributos, global o de una clase.
+     * Ej.: /api/characters/leaderboards/total-stats?characterClass=Mago&limit=10
+     */
+    @GetMapping("/leaderboards/{metric}")
+    public List<LeaderboardEntry> leaderboard(@PathVariable String metric,
+                                              @RequestParam(required = false) String characterClass,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return leaderboards.top(leaderboardMetric(metric), characterClass, limit);
+    }
+
+    /**
+     * Los primeros de cada clase. Ej.: /api/characters/leaderboards/level/by-class?limit=3
+     */
+    @GetMapping("/leaderboards/{metric}/by-class")
+    public Map<String, List<LeaderboardEntry>> leaderboardByClass(@PathVariable String metric,
+                                                                  @RequestParam(defaultValue = "1") int limit) {
+        return leaderboards.topPerClass(leaderboardMetric(metric), limit);
+    }
+
+    private static LeaderboardMetric leaderboardMetric(String slug) {
+        try {
+            return LeaderboardMetric.fromSlug(slug);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static StatQuery statQuery(Map<String, String> params) {
+        try {
+            return StatQuery.from(params);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelca la tabla completa escribiendo directamente en la respuesta, fila a fila.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = parseFormat(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"characters." + exportFormat.getExtension() + "\"");
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        exportService.export(exportFormat, out);
+        out.flush();
+    }
+
+    /**
+     * Importa el cuerpo de la petición (NDJSON o CSV con las columnas de la exportación) sin cargarlo entero en memoria.
+     * Ej.: curl --data-binary @roster.ndjson -H 'Content-Type: application/x-ndjson' /api/characters/import?format=ndjson
+     */
+    @PostMapping("/import")
+    public ImportReport importCharacters(@RequestParam(defaultValue = "ndjson") String format,
+                                         InputStream body) throws IOException {
+        ExportFormat importFormat = parseFormat(format);
+        try {
+            return importService.importFrom(importFormat, body);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/prototypes/stats")
+    public PrototypeCacheStats prototypeStats() {
+        return characterRegistry.stats();
+    }
+
+    @ExceptionHandler(CharacterNotFoundException.class)
+    public ResponseEntity<Map<String, String>> notFound(CharacterNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    /** Cualquier otro argumento inválido que llegue hasta aquí es un error del cliente. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+    }
+}
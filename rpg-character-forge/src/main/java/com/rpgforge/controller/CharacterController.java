@@ -1,41 +1,85 @@
 package com.rpgforge.controller;
 
 import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.CharacterDiff;
+import com.rpgforge.domain.CharacterRules;
+import com.rpgforge.dto.CharacterCard;
 import com.rpgforge.dto.CharacterFormDTO;
+import com.rpgforge.dto.CharacterPage;
 import com.rpgforge.dto.CharacterPatchDTO;
+import com.rpgforge.dto.CharacterSearchDTO;
+import com.rpgforge.dto.CharacterSearchResult;
+import com.rpgforge.service.CharacterNotFoundException;
 import com.rpgforge.service.CharacterRegistry;
+import com.rpgforge.service.CharacterSearchService;
 import com.rpgforge.service.CharacterService;
-import jakarta.servlet.http.HttpSession;
+import com.rpgforge.service.CloneLineageReadModel;
+import com.rpgforge.service.ForgeMetrics;
+import com.rpgforge.service.LineageTooDeepException;
+import com.rpgforge.service.StoreVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Controller
 public class CharacterController {
 
-    private static final String SESSION_WIZARD_FORM = "wizardForm";
+    private static final int MAX_COMPARE_CLONES = 500;
+    private static final int SIMILAR_IN_MODAL = 5;
 
-    private static final List<String> ALL_SKILLS = List.of(
-            "Golpe brutal", "Escudo divino", "Flecha de fuego", "Teletransporte", "Curación",
-            "Veneno letal", "Rayo de hielo", "Furia berserker", "Invisibilidad", "Invocar familiar");
-    private static final List<String> ALL_EQUIPMENT = List.of(
-            "Espada larga", "Armadura de placas", "Arco élfico", "Bastón mágico",
-            "Daga envenenada", "Escudo de roble", "Capa de invisibilidad", "Botas veloces");
+    private static final List<String> ALL_SKILLS = CharacterCatalog.SKILLS;
+    private static final List<String> ALL_EQUIPMENT = CharacterCatalog.EQUIPMENT;
 
     private final CharacterService characterService;
     private final CharacterRegistry characterRegistry;
+    private final CharacterSearchService searchService;
+    private final CloneLineageReadModel cloneLineage;
+    private final WizardFormStore wizardFormStore;
+    private final ForgeMetrics metrics;
+    private final StoreVersion storeVersion;
 
-    public CharacterController(CharacterService characterService, CharacterRegistry characterRegistry) {
+    public CharacterController(CharacterService characterService,
+                               CharacterRegistry characterRegistry,
+                               CharacterSearchService searchService,
+                               CloneLineageReadModel cloneLineage,
+                               WizardFormStore wizardFormStore,
+                               ForgeMetrics metrics,
+                               StoreVersion storeVersion) {
         this.characterService = characterService;
         this.characterRegistry = characterRegistry;
+        this.searchService = searchService;
+        this.cloneLineage = cloneLineage;
+        this.wizardFormStore = wizardFormStore;
+        this.metrics = metrics;
+        this.storeVersion = storeVersion;
+    }
+
+    /**
+     * GET condicional para vistas que solo dependen del almacén y de la URL: si el cliente ya tiene la versión
+     * actual responde 304 sin consultar el repositorio ni renderizar. Las peticiones que traen atributos flash
+     * (avisos, errores de validación) se renderizan siempre, porque su contenido no está en el ETag.
+     */
+    private boolean notModified(WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+        // Los navegadores revalidan en cada visita en lugar de mostrar una copia posiblemente obsoleta
+        response.setHeader("Cache-Control", "no-cache");
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+        return webRequest.checkNotModified(storeVersion.etag(), storeVersion.lastModifiedMillis());
     }
 
     @GetMapping("/")
@@ -45,8 +89,8 @@ public class CharacterController {
 
     // --- Wizard Step 1: Identidad ---
     @GetMapping("/wizard/step1")
-    public String wizardStep1(Model model, HttpSession session) {
-        CharacterFormDTO form = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+    public String wizardStep1(Model model, HttpServletRequest request) {
+        CharacterFormDTO form = wizardFormStore.load(request);
         if (form == null) {
             form = new CharacterFormDTO();
         }
@@ -57,19 +101,21 @@ public class CharacterController {
     @PostMapping("/wizard/step1")
     public String wizardStep1Submit(@Valid @ModelAttribute("form") CharacterFormDTO form,
                                     BindingResult result,
-                                    HttpSession session,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response,
                                     RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             return "wizard-step1";
         }
-        session.setAttribute(SESSION_WIZARD_FORM, form);
+        wizardFormStore.save(form, request, response);
+        metrics.wizardStep(1);
         return "redirect:/wizard/step2";
     }
 
     // --- Wizard Step 2: Estadísticas ---
     @GetMapping("/wizard/step2")
-    public String wizardStep2(Model model, HttpSession session) {
-        CharacterFormDTO form = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+    public String wizardStep2(Model model, HttpServletRequest request) {
+        CharacterFormDTO form = wizardFormStore.load(request);
         if (form == null) {
             return "redirect:/wizard/step1";
         }
@@ -79,8 +125,9 @@ public class CharacterController {
 
     @PostMapping("/wizard/step2")
     public String wizardStep2Submit(@ModelAttribute("form") CharacterFormDTO form,
-                                    HttpSession session) {
-        CharacterFormDTO existing = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+                                    HttpServletRequest request,
+                                    HttpServletResponse response) {
+        CharacterFormDTO existing = wizardFormStore.load(request);
         if (existing == null) {
             return "redirect:/wizard/step1";
         }
@@ -89,14 +136,15 @@ public class CharacterController {
         existing.setIntelligence(form.getIntelligence());
         existing.setVitality(form.getVitality());
         existing.setLuck(form.getLuck());
-        session.setAttribute(SESSION_WIZARD_FORM, existing);
+        wizardFormStore.save(existing, request, response);
+        metrics.wizardStep(2);
         return "redirect:/wizard/step3";
     }
 
     // --- Wizard Step 3: Habilidades (máximo 4) ---
     @GetMapping("/wizard/step3")
-    public String wizardStep3(Model model, HttpSession session) {
-        CharacterFormDTO form = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+    public String wizardStep3(Model model, HttpServletRequest request) {
+        CharacterFormDTO form = wizardFormStore.load(request);
         if (form == null) {
             return "redirect:/wizard/step1";
         }
@@ -107,25 +155,32 @@ public class CharacterController {
 
     @PostMapping("/wizard/step3")
     public String wizardStep3Submit(@RequestParam(value = "skills", required = false) List<String> skills,
-                                    HttpSession session,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response,
                                     RedirectAttributes redirectAttributes) {
-        CharacterFormDTO existing = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+        CharacterFormDTO existing = wizardFormStore.load(request);
         if (existing == null) {
             return "redirect:/wizard/step1";
         }
-        if (skills != null && skills.size() > 4) {
-            redirectAttributes.addFlashAttribute("error", "Máximo 4 habilidades.");
+        if (skills != null && skills.size() > CharacterRules.MAX_SKILLS) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.TOO_MANY_SKILLS + ".");
+            return "redirect:/wizard/step3";
+        }
+        String unknownSkill = CharacterCatalog.unknownSkill(skills);
+        if (unknownSkill != null) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.UNKNOWN_SKILL + unknownSkill);
             return "redirect:/wizard/step3";
         }
         existing.setSkills(skills != null ? skills : new ArrayList<>());
-        session.setAttribute(SESSION_WIZARD_FORM, existing);
+        wizardFormStore.save(existing, request, response);
+        metrics.wizardStep(3);
         return "redirect:/wizard/step4";
     }
 
     // --- Wizard Step 4: Equipamiento (máximo 3) — construye con Builder y persiste ---
     @GetMapping("/wizard/step4")
-    public String wizardStep4(Model model, HttpSession session) {
-        CharacterFormDTO form = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+    public String wizardStep4(Model model, HttpServletRequest request) {
+        CharacterFormDTO form = wizardFormStore.load(request);
         if (form == null) {
             return "redirect:/wizard/step1";
         }
@@ -136,20 +191,27 @@ public class CharacterController {
 
     @PostMapping("/wizard/step4")
     public String wizardStep4Submit(@RequestParam(value = "equipment", required = false) List<String> equipment,
-                                    HttpSession session,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response,
                                     RedirectAttributes redirectAttributes) {
-        CharacterFormDTO existing = (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+        CharacterFormDTO existing = wizardFormStore.load(request);
         if (existing == null) {
             return "redirect:/wizard/step1";
         }
-        if (equipment != null && equipment.size() > 3) {
-            redirectAttributes.addFlashAttribute("error", "Máximo 3 items de equipamiento.");
+        if (equipment != null && equipment.size() > CharacterRules.MAX_EQUIPMENT) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.TOO_MANY_EQUIPMENT + ".");
+            return "redirect:/wizard/step4";
+        }
+        String unknownEquipment = CharacterCatalog.unknownEquipment(equipment);
+        if (unknownEquipment != null) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.UNKNOWN_EQUIPMENT + unknownEquipment);
             return "redirect:/wizard/step4";
         }
         existing.setEquipment(equipment != null ? equipment : new ArrayList<>());
 
         Character character = characterService.buildFromForm(existing);
-        session.removeAttribute(SESSION_WIZARD_FORM);
+        wizardFormStore.clear(request, response);
+        metrics.wizardStep(4);
         redirectAttributes.addFlashAttribute("createdName", character.getName());
         return "redirect:/gallery";
     }
@@ -157,22 +219,60 @@ public class CharacterController {
     // --- Galería ---
     @GetMapping("/gallery")
     public String gallery(Model model,
-                          @RequestParam(value = "cloneId", required = false) Long cloneId) {
-        List<Character> characters = characterService.findAll();
-        Map<Long, List<Character>> clonesByOriginalId = characters.stream()
-                .filter(c -> c.getClonedFromId() != null)
-                .collect(Collectors.groupingBy(Character::getClonedFromId));
-        Map<Long, String> originalNames = characters.stream()
-                .collect(Collectors.toMap(Character::getId, Character::getName));
+                          @RequestParam(value = "cloneId", required = false) Long cloneId,
+                          @RequestParam(value = "after", required = false) String after,
+                          @RequestParam(value = "before", required = false) String before,
+                          @RequestParam(value = "size", defaultValue = "" + CharacterService.DEFAULT_PAGE_SIZE) int size,
+                          @ModelAttribute("search") CharacterSearchDTO search,
+                          WebRequest webRequest,
+                          HttpServletRequest request,
+                          HttpServletResponse response) {
+        if (notModified(webRequest, request, response)) {
+            return null;
+        }
+        CharacterPage<CharacterCard> page;
+        if (search.isEmpty()) {
+            page = characterService.findPage(after, before, size);
+        } else {
+            // Con filtros los cursores son ids del índice de búsqueda, no cursores (createdAt, id)
+            try {
+                CharacterSearchResult<CharacterCard> result = searchService.searchCards(search, after, before, size);
+                page = result.page();
+                model.addAttribute("searchTotal", result.total());
+            } catch (IllegalArgumentException e) {
+                page = new CharacterPage<>(List.of(), null, null);
+                model.addAttribute("searchTotal", 0);
+                model.addAttribute("error", e.getMessage());
+            }
+        }
+        model.addAttribute("searchQuery", search.toQueryString());
+        List<CharacterCard> characters = page.items();
+        metrics.galleryRows(characters.size());
+        Map<Long, Long> firstCloneIds = new HashMap<>();
+        Map<Long, String> originalNames = new HashMap<>();
+        for (CharacterCard character : characters) {
+            Long firstCloneId = cloneLineage.firstCloneId(character.id());
+            if (firstCloneId != null) {
+                firstCloneIds.put(character.id(), firstCloneId);
+            }
+            if (character.clonedFromId() != null) {
+                originalNames.put(character.clonedFromId(), cloneLineage.nameOf(character.clonedFromId()));
+            }
+        }
         model.addAttribute("characters", characters);
-        model.addAttribute("clonesByOriginalId", clonesByOriginalId);
+        model.addAttribute("page", page);
+        model.addAttribute("pageSize", Math.max(1, Math.min(CharacterService.MAX_PAGE_SIZE, size)));
+        model.addAttribute("firstCloneIds", firstCloneIds);
         model.addAttribute("originalNames", originalNames);
         model.addAttribute("allSkills", ALL_SKILLS);
         model.addAttribute("allEquipment", ALL_EQUIPMENT);
         model.addAttribute("showCloneModal", cloneId != null);
         model.addAttribute("cloneTargetId", cloneId);
         if (cloneId != null) {
-            characterService.findById(cloneId).ifPresent(c -> model.addAttribute("cloneTarget", c));
+            characterService.findById(cloneId).ifPresent(c -> {
+                model.addAttribute("cloneTarget", c);
+                model.addAttribute("similar", searchService.findSimilar(cloneId, SIMILAR_IN_MODAL));
+            });
         }
         if (!model.containsAttribute("patch")) {
             model.addAttribute("patch", new CharacterPatchDTO());
@@ -195,41 +295,66 @@ public class CharacterController {
             redirectAttributes.addFlashAttribute("patch", patch);
             return "redirect:/gallery?cloneId=" + id;
         }
-        if (patch.getSkills() != null && patch.getSkills().size() > 4) {
-            redirectAttributes.addFlashAttribute("error", "Máximo 4 habilidades.");
+        if (patch.getSkills() != null && patch.getSkills().size() > CharacterRules.MAX_SKILLS) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.TOO_MANY_SKILLS + ".");
             return "redirect:/gallery?cloneId=" + id;
         }
-        if (patch.getEquipment() != null && patch.getEquipment().size() > 3) {
-            redirectAttributes.addFlashAttribute("error", "Máximo 3 items de equipamiento.");
+        if (patch.getEquipment() != null && patch.getEquipment().size() > CharacterRules.MAX_EQUIPMENT) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.TOO_MANY_EQUIPMENT + ".");
+            return "redirect:/gallery?cloneId=" + id;
+        }
+        String unknownSkill = CharacterCatalog.unknownSkill(patch.getSkills());
+        if (unknownSkill != null) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.UNKNOWN_SKILL + unknownSkill);
+            return "redirect:/gallery?cloneId=" + id;
+        }
+        String unknownEquipment = CharacterCatalog.unknownEquipment(patch.getEquipment());
+        if (unknownEquipment != null) {
+            redirectAttributes.addFlashAttribute("error", CharacterRules.UNKNOWN_EQUIPMENT + unknownEquipment);
+            return "redirect:/gallery?cloneId=" + id;
+        }
+        try {
+            characterRegistry.cloneCharacter(id, patch);
+        } catch (LineageTooDeepException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
             return "redirect:/gallery?cloneId=" + id;
         }
-        characterRegistry.cloneCharacter(id, patch);
         redirectAttributes.addFlashAttribute("cloned", true);
         return "redirect:/gallery";
     }
 
     @GetMapping("/compare")
     public String compare(@RequestParam Long original,
-                          @RequestParam Long clone,
-                          Model model) {
+                          @RequestParam(required = false) Long clone,
+                          Model model,
+                          WebRequest webRequest,
+                          HttpServletRequest request,
+                          HttpServletResponse response) {
+        if (notModified(webRequest, request, response)) {
+            return null;
+        }
         Character originalChar = characterService.findById(original)
-                .orElseThrow(() -> new IllegalArgumentException("Personaje original no encontrado"));
-        Character cloneChar = characterService.findById(clone)
-                .orElseThrow(() -> new IllegalArgumentException("Personaje clon no encontrado"));
+                .orElseThrow(() -> new CharacterNotFoundException("Personaje original no encontrado"));
         model.addAttribute("original", originalChar);
-        model.addAttribute("clone", cloneChar);
-
-        List<String> cloneSkills = cloneChar.getSkills() == null || cloneChar.getSkills().isBlank()
-                ? List.of()
-                : List.of(cloneChar.getSkills().split(",\\s*"));
-        List<String> originalSkills = originalChar.getSkills() == null || originalChar.getSkills().isBlank()
-                ? List.of()
-                : List.of(originalChar.getSkills().split(",\\s*"));
-        List<String> uniqueToClone = cloneSkills.stream()
-                .map(String::trim)
-                .filter(s -> !originalSkills.stream().map(String::trim).toList().contains(s))
-                .collect(Collectors.toList());
-        model.addAttribute("uniqueSkillsClone", uniqueToClone);
+
+        List<CharacterDiff> diffs;
+        if (clone != null) {
+            Character cloneChar = characterService.findById(clone)
+                    .orElseThrow(() -> new CharacterNotFoundException("Personaje clon no encontrado"));
+            model.addAttribute("clone", cloneChar);
+            CharacterDiff diff = CharacterDiff.between(originalChar, cloneChar);
+            model.addAttribute("uniqueSkillsClone", diff.addedSkills());
+            diffs = List.of(diff);
+        } else {
+            // Sin clon concreto: el original contra todos sus clones directos (acotado a MAX_COMPARE_CLONES)
+            List<Long> cloneIds = cloneLineage.cloneIdsOf(original);
+            model.addAttribute("totalClones", cloneIds.size());
+            diffs = characterService.findAllById(cloneIds.subList(0, Math.min(MAX_COMPARE_CLONES, cloneIds.size())))
+                    .stream()
+                    .map(c -> CharacterDiff.between(originalChar, c))
+                    .toList();
+        }
+        model.addAttribute("diffs", diffs);
 
         return "compare";
     }
@@ -0,0 +1,37 @@
+package com.rpgforge.controller;
+
+import com.rpgforge.dto.CharacterFormDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda el formulario del wizard en la HttpSession del nodo que atiende la petición.
+ */
+@Component
+@ConditionalOnProperty(name = "rpgforge.wizard.state", havingValue = "session", matchIfMissing = true)
+public class SessionWizardFormStore implements WizardFormStore {
+
+    private static final String SESSION_WIZARD_FORM = "wizardForm";
+
+    @Override
+    public CharacterFormDTO load(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (CharacterFormDTO) session.getAttribute(SESSION_WIZARD_FORM);
+    }
+
+    @Override
+    public void save(CharacterFormDTO form, HttpServletRequest request, HttpServletResponse response) {
+        request.getSession().setAttribute(SESSION_WIZARD_FORM, form);
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.removeAttribute(SESSION_WIZARD_FORM);
+        }
+    }
+}
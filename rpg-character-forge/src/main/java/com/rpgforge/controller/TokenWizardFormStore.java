@@ -0,0 +1,202 @@
+package com.rpgforge.controller;
+
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.dto.CharacterFormDTO;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Lleva el formulario del wizard en una cookie compacta y firmada con HMAC-SHA256, de modo que
+ * ningún nodo guarda estado por usuario y no hacen falta sesiones sticky.
+ * Formato: base64url(payload) + "." + base64url(hmac(payload)). El payload es binario
+ * (nombre, raza, clase, nivel, estadísticas, máscaras de habilidades / equipamiento y fecha de emisión);
+ * va firmado pero no cifrado, así que no debe contener nada confidencial.
+ * Todos los nodos deben compartir rpgforge.wizard.token-secret; si no se configura se genera uno aleatorio
+ * por proceso, válido solo para un único nodo.
+ */
+@Component
+@ConditionalOnProperty(name = "rpgforge.wizard.state", havingValue = "token")
+public class TokenWizardFormStore implements WizardFormStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenWizardFormStore.class);
+
+    static final String COOKIE_NAME = "rpgforge_wizard";
+    private static final String COOKIE_PATH = "/wizard";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT_VERSION = 1;
+    private static final Duration MAX_AGE = Duration.ofDays(1);
+    // Los navegadores descartan sin avisar las cookies de más de ~4 KB; un formulario válido ocupa menos de 1 KB
+    static final int MAX_TOKEN_LENGTH = 4000;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public TokenWizardFormStore(@Value("${rpgforge.wizard.token-secret:}") String secret) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("rpgforge.wizard.token-secret no configurado: se usa una clave aleatoria válida solo para este nodo");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public CharacterFormDTO load(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return decode(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void save(CharacterFormDTO form, HttpServletRequest request, HttpServletResponse response) {
+        String token = encode(form);
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            // Los límites de CharacterRules lo impiden: llegar aquí es un formulario sin validar
+            throw new IllegalStateException("Formulario del wizard demasiado grande para la cookie: "
+                    + token.length() + " caracteres");
+        }
+        writeCookie(response, token, MAX_AGE);
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        writeCookie(response, "", Duration.ZERO);
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .path(COOKIE_PATH)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    String encode(CharacterFormDTO form) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(Instant.now().getEpochSecond());
+            writeNullable(out, form.getName());
+            writeNullable(out, form.getRace());
+            writeNullable(out, form.getCharacterClass());
+            writeStat(out, form.getLevel());
+            writeStat(out, form.getStrength());
+            writeStat(out, form.getAgility());
+            writeStat(out, form.getIntelligence());
+            writeStat(out, form.getVitality());
+            writeStat(out, form.getLuck());
+            out.writeShort(CharacterCatalog.skillsMask(form.getSkills()));
+            out.writeShort(CharacterCatalog.equipmentMask(form.getEquipment()));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo serializar el formulario del wizard", e);
+        }
+        byte[] payload = bytes.toByteArray();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /** Devuelve null si el token está mal formado, su firma no coincide o ha caducado. */
+    CharacterFormDTO decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            Instant issuedAt = Instant.ofEpochSecond(in.readLong());
+            if (issuedAt.plus(MAX_AGE).isBefore(Instant.now())) {
+                return null;
+            }
+            CharacterFormDTO form = new CharacterFormDTO();
+            form.setName(readNullable(in));
+            form.setRace(readNullable(in));
+            form.setCharacterClass(readNullable(in));
+            form.setLevel(in.readByte());
+            form.setStrength(in.readByte());
+            form.setAgility(in.readByte());
+            form.setIntelligence(in.readByte());
+            form.setVitality(in.readByte());
+            form.setLuck(in.readByte());
+            form.setSkills(CharacterCatalog.skillNames(in.readUnsignedShort()));
+            form.setEquipment(CharacterCatalog.equipmentNames(in.readUnsignedShort()));
+            return form;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC no disponible", e);
+        }
+    }
+
+    /** Las estadísticas caben en un byte; valores fuera de rango se saturan (el Builder los acota a 1..100 igualmente). */
+    private static void writeStat(DataOutputStream out, int value) throws IOException {
+        out.writeByte(Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, value)));
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.rpgforge.controller;
+
+import com.rpgforge.dto.CharacterFormDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Dónde vive el formulario del wizard entre los pasos 1..4.
+ * Se elige con rpgforge.wizard.state: "session" (por defecto) o "token" (cookie firmada, sin estado en el servidor).
+ */
+public interface WizardFormStore {
+
+    /** Formulario en curso, o null si el wizard no se ha empezado (o el estado no es válido). */
+    CharacterFormDTO load(HttpServletRequest request);
+
+    void save(CharacterFormDTO form, HttpServletRequest request, HttpServletResponse response);
+
+    void clear(HttpServletRequest request, HttpServletResponse response);
+}
@@ -3,6 +3,9 @@ package com.rpgforge.domain;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,11 +13,20 @@ import java.util.Objects;
  * Implementa Cloneable para el patrón Prototype y contiene un Builder estático interno.
  */
 @Entity
-@Table(name = "characters")
+@Table(name = "characters", indexes = {
+        // Índice para la paginación por cursor (keyset) de la galería: ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_characters_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_characters_cloned_from_id", columnList = "cloned_from_id"),
+        // Ruta materializada del linaje: descendientes = LIKE 'prefijo%' sobre este índice
+        @Index(name = "idx_characters_lineage_path", columnList = "lineage_path")
+})
 public class Character implements Cloneable {
 
+    // Secuencia con optimizador pooled: Hibernate reserva ids en bloques y puede agrupar los INSERT en lotes JDBC
+    // (con IDENTITY cada INSERT debe ejecutarse por separado para leer la clave generada).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "character_seq")
+    @SequenceGenerator(name = "character_seq", sequenceName = "characters_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,18 +45,29 @@ public class Character implements Cloneable {
     private int vitality = 1;
     private int luck = 1;
 
-    @Column(length = 1000)
-    private String skills = "";
+    // Máscaras de bits sobre CharacterCatalog.SKILLS / CharacterCatalog.EQUIPMENT
+    @Column(name = "skills_mask", nullable = false)
+    private int skillsMask;
 
-    @Column(length = 1000)
-    private String equipment = "";
+    @Column(name = "equipment_mask", nullable = false)
+    private int equipmentMask;
 
     @Column(name = "cloned_from_id")
     private Long clonedFromId;
 
+    // Ids de los ancestros desde la raíz hasta el padre: "/" para un original, "/1/4/" para un clon de 4 que a su vez clonó a 1.
+    // Cada ancestro ocupa sus cifras más la barra: caben unas 1.700 generaciones con ids de 8 cifras y unas 1.450
+    // con ids de 10. clone() rechaza la generación que ya no cabría en lugar de dejar que la base de datos falle.
+    public static final int LINEAGE_PATH_MAX_LENGTH = 16_000;
+
+    @Column(name = "lineage_path", nullable = false, length = LINEAGE_PATH_MAX_LENGTH)
+    private String lineagePath = ROOT_PATH;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    public static final String ROOT_PATH = "/";
+
     public Character() {
     }
 
@@ -52,13 +75,15 @@ public class Character implements Cloneable {
     // Crea una copia del personaje para clonación; id y createdAt se reinician, clonedFromId apunta al original.
     @Override
     public Character clone() {
+        if (!canBeCloned()) {
+            throw new IllegalStateException(CharacterRules.LINEAGE_TOO_DEEP + " (id " + id + ")");
+        }
         try {
             Character clone = (Character) super.clone();
             clone.id = null;
             clone.createdAt = LocalDateTime.now();
             clone.clonedFromId = this.id;
-            clone.skills = this.skills == null ? "" : new String(this.skills);
-            clone.equipment = this.equipment == null ? "" : new String(this.equipment);
+            clone.lineagePath = this.descendantPathPrefix();
             return clone;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError("Character supports cloning", e);
@@ -67,8 +92,16 @@ public class Character implements Cloneable {
 
     // ═══ PATRÓN BUILDER ═══
     // Clase estática interna que permite construir un Character paso a paso con validación.
+    // Los setters no lanzan: guardan el valor tal cual y las comprobaciones se hacen al final, en build()
+    // (tolerante: ajusta nivel y estadísticas al rango) o en tryBuild() (estricta: aplica CharacterRules y
+    // devuelve todas las infracciones sin excepciones ni reflexión, apta para validar lotes en paralelo).
     public static class Builder {
+        private static final Stat[] STATS = Stat.values();
+
         private final Character character;
+        // Primer nombre que no está en CharacterCatalog; se informa al construir en lugar de lanzar en el setter
+        private String unknownSkill;
+        private String unknownEquipment;
 
         public Builder() {
             this.character = new Character();
@@ -90,45 +123,135 @@ public class Character implements Cloneable {
         }
 
         public Builder level(int level) {
-            character.level = Math.max(1, Math.min(100, level));
+            character.level = level;
             return this;
         }
 
         public Builder strength(int strength) {
-            character.strength = Math.max(1, Math.min(100, strength));
+            character.strength = strength;
             return this;
         }
 
         public Builder agility(int agility) {
-            character.agility = Math.max(1, Math.min(100, agility));
+            character.agility = agility;
             return this;
         }
 
         public Builder intelligence(int intelligence) {
-            character.intelligence = Math.max(1, Math.min(100, intelligence));
+            character.intelligence = intelligence;
             return this;
         }
 
         public Builder vitality(int vitality) {
-            character.vitality = Math.max(1, Math.min(100, vitality));
+            character.vitality = vitality;
             return this;
         }
 
         public Builder luck(int luck) {
-            character.luck = Math.max(1, Math.min(100, luck));
+            character.luck = luck;
+            return this;
+        }
+
+        public Builder skills(Collection<String> skills) {
+            int mask = 0;
+            unknownSkill = null;
+            if (skills != null) {
+                for (String skill : skills) {
+                    int bit = CharacterCatalog.skillBit(skill);
+                    if (bit >= 0) {
+                        mask |= 1 << bit;
+                    } else if (unknownSkill == null) {
+                        unknownSkill = String.valueOf(skill);
+                    }
+                }
+            }
+            character.skillsMask = mask;
             return this;
         }
 
-        public Builder skills(String skills) {
-            character.skills = skills == null ? "" : skills;
+        public Builder skillsMask(int skillsMask) {
+            character.skillsMask = skillsMask;
+            unknownSkill = null;
             return this;
         }
 
-        public Builder equipment(String equipment) {
-            character.equipment = equipment == null ? "" : equipment;
+        public Builder equipment(Collection<String> equipment) {
+            int mask = 0;
+            unknownEquipment = null;
+            if (equipment != null) {
+                for (String item : equipment) {
+                    int bit = CharacterCatalog.equipmentBit(item);
+                    if (bit >= 0) {
+                        mask |= 1 << bit;
+                    } else if (unknownEquipment == null) {
+                        unknownEquipment = String.valueOf(item);
+                    }
+                }
+            }
+            character.equipmentMask = mask;
             return this;
         }
 
+        public Builder equipmentMask(int equipmentMask) {
+            character.equipmentMask = equipmentMask;
+            unknownEquipment = null;
+            return this;
+        }
+
+        /**
+         * Comprueba todas las reglas de CharacterRules (las mismas que las anotaciones de CharacterFormDTO)
+         * y devuelve todas las infracciones; lista vacía, sin reservar memoria, si no hay ninguna.
+         */
+        public List<CharacterValidation.Violation> validate() {
+            List<CharacterValidation.Violation> violations = null;
+            if (character.name == null || character.name.isBlank()) {
+                violations = add(violations, "name", CharacterRules.NAME_REQUIRED);
+            } else if (character.name.length() > CharacterRules.NAME_MAX_LENGTH) {
+                violations = add(violations, "name", CharacterRules.NAME_TOO_LONG);
+            }
+            if (character.race != null && character.race.length() > CharacterRules.RACE_MAX_LENGTH) {
+                violations = add(violations, "race", CharacterRules.RACE_TOO_LONG);
+            }
+            if (character.characterClass == null || character.characterClass.isBlank()) {
+                violations = add(violations, "characterClass", CharacterRules.CLASS_REQUIRED);
+            } else if (character.characterClass.length() > CharacterRules.CLASS_MAX_LENGTH) {
+                violations = add(violations, "characterClass", CharacterRules.CLASS_TOO_LONG);
+            }
+            for (Stat stat : STATS) {
+                int value = stat.valueOf(character);
+                if (value < Stat.MIN_VALUE || value > Stat.MAX_VALUE) {
+                    violations = add(violations, stat.getProperty(), CharacterRules.STAT_OUT_OF_RANGE);
+                }
+            }
+            if (unknownSkill != null) {
+                violations = add(violations, "skills", CharacterRules.UNKNOWN_SKILL + unknownSkill);
+            }
+            if (Integer.bitCount(character.skillsMask) > CharacterRules.MAX_SKILLS) {
+                violations = add(violations, "skills", CharacterRules.TOO_MANY_SKILLS);
+            }
+            if (unknownEquipment != null) {
+                violations = add(violations, "equipment", CharacterRules.UNKNOWN_EQUIPMENT + unknownEquipment);
+            }
+            if (Integer.bitCount(character.equipmentMask) > CharacterRules.MAX_EQUIPMENT) {
+                violations = add(violations, "equipment", CharacterRules.TOO_MANY_EQUIPMENT);
+            }
+            return violations == null ? List.of() : violations;
+        }
+
+        /** Construye el personaje solo si validate() no encuentra infracciones; nunca lanza. */
+        public CharacterValidation tryBuild() {
+            List<CharacterValidation.Violation> violations = validate();
+            if (!violations.isEmpty()) {
+                return new CharacterValidation(null, violations);
+            }
+            character.createdAt = LocalDateTime.now();
+            return new CharacterValidation(character, violations);
+        }
+
+        /**
+         * Construcción tolerante: exige nombre, clase y nombres del catálogo, y ajusta nivel y estadísticas
+         * al rango 1..100 en lugar de rechazarlos.
+         */
         public Character build() {
             if (character.name == null || character.name.isBlank()) {
                 throw new IllegalStateException("name no puede ser nulo ni vacío");
@@ -136,9 +259,32 @@ public class Character implements Cloneable {
             if (character.characterClass == null || character.characterClass.isBlank()) {
                 throw new IllegalStateException("characterClass no puede ser nulo ni vacío");
             }
+            if (unknownSkill != null) {
+                throw new IllegalStateException(CharacterRules.UNKNOWN_SKILL + unknownSkill);
+            }
+            if (unknownEquipment != null) {
+                throw new IllegalStateException(CharacterRules.UNKNOWN_EQUIPMENT + unknownEquipment);
+            }
+            character.level = clamp(character.level);
+            character.strength = clamp(character.strength);
+            character.agility = clamp(character.agility);
+            character.intelligence = clamp(character.intelligence);
+            character.vitality = clamp(character.vitality);
+            character.luck = clamp(character.luck);
             character.createdAt = LocalDateTime.now();
             return character;
         }
+
+        private static int clamp(int value) {
+            return Math.max(Stat.MIN_VALUE, Math.min(Stat.MAX_VALUE, value));
+        }
+
+        private static List<CharacterValidation.Violation> add(List<CharacterValidation.Violation> violations,
+                                                               String field, String message) {
+            List<CharacterValidation.Violation> list = violations != null ? violations : new ArrayList<>(4);
+            list.add(new CharacterValidation.Violation(field, message));
+            return list;
+        }
     }
 
     // --- Getters y Setters ---
@@ -223,20 +369,29 @@ public class Character implements Cloneable {
         this.luck = luck;
     }
 
-    public String getSkills() {
-        return skills;
+    public int getSkillsMask() {
+        return skillsMask;
+    }
+
+    public void setSkillsMask(int skillsMask) {
+        this.skillsMask = skillsMask;
     }
 
-    public void setSkills(String skills) {
-        this.skills = skills;
+    public int getEquipmentMask() {
+        return equipmentMask;
     }
 
-    public String getEquipment() {
-        return equipment;
+    public void setEquipmentMask(int equipmentMask) {
+        this.equipmentMask = equipmentMask;
     }
 
-    public void setEquipment(String equipment) {
-        this.equipment = equipment;
+    /** Nombres de las habilidades, decodificados del catálogo (listas inmutables compartidas). */
+    public List<String> getSkills() {
+        return CharacterCatalog.skillNames(skillsMask);
+    }
+
+    public List<String> getEquipment() {
+        return CharacterCatalog.equipmentNames(equipmentMask);
     }
 
     public Long getClonedFromId() {
@@ -247,6 +402,43 @@ public class Character implements Cloneable {
         this.clonedFromId = clonedFromId;
     }
 
+    public String getLineagePath() {
+        return lineagePath;
+    }
+
+    public void setLineagePath(String lineagePath) {
+        this.lineagePath = lineagePath;
+    }
+
+    /** Prefijo que comparte lineage_path de todos los descendientes de este personaje. */
+    public String descendantPathPrefix() {
+        return lineagePath + id + "/";
+    }
+
+    /** Si la ruta de un clon suyo cabe todavía en lineage_path (ver LINEAGE_PATH_MAX_LENGTH). */
+    public boolean canBeCloned() {
+        return descendantPathPrefix().length() <= LINEAGE_PATH_MAX_LENGTH;
+    }
+
+    /** Id de la raíz de la familia de clones (él mismo si es un original). */
+    public Long getRootId() {
+        if (ROOT_PATH.equals(lineagePath)) {
+            return id;
+        }
+        return Long.valueOf(lineagePath.substring(1, lineagePath.indexOf('/', 1)));
+    }
+
+    /** Ids de los ancestros, de la raíz al padre. */
+    public List<Long> getAncestorIds() {
+        List<Long> ids = new ArrayList<>();
+        int start = 1;
+        for (int slash = lineagePath.indexOf('/', start); slash > 0; slash = lineagePath.indexOf('/', start)) {
+            ids.add(Long.valueOf(lineagePath.substring(start, slash)));
+            start = slash + 1;
+        }
+        return ids;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,122 @@
+package com.rpgforge.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo fijo de habilidades y equipamiento.
+ * Cada personaje guarda su selección como máscara de bits donde el bit i corresponde a la posición i del catálogo,
+ * así que las listas solo pueden crecer añadiendo al final: reordenarlas cambiaría el significado de las filas guardadas.
+ */
+public final class CharacterCatalog {
+
+    public static final List<String> SKILLS = List.of(
+            "Golpe brutal", "Escudo divino", "Flecha de fuego", "Teletransporte", "Curación",
+            "Veneno letal", "Rayo de hielo", "Furia berserker", "Invisibilidad", "Invocar familiar");
+
+    public static final List<String> EQUIPMENT = List.of(
+            "Espada larga", "Armadura de placas", "Arco élfico", "Bastón mágico",
+            "Daga envenenada", "Escudo de roble", "Capa de invisibilidad", "Botas veloces");
+
+    private static final Map<String, Integer> SKILL_BITS = indexOf(SKILLS);
+    private static final Map<String, Integer> EQUIPMENT_BITS = indexOf(EQUIPMENT);
+
+    // Todas las combinaciones posibles precalculadas (2^10 y 2^8): decodificar una máscara no reserva memoria.
+    private static final List<List<String>> SKILL_NAMES = decodeAll(SKILLS);
+    private static final List<List<String>> EQUIPMENT_NAMES = decodeAll(EQUIPMENT);
+
+    private CharacterCatalog() {
+    }
+
+    public static int skillsMask(Collection<String> names) {
+        return mask(SKILL_BITS, names, CharacterRules.UNKNOWN_SKILL);
+    }
+
+    public static int equipmentMask(Collection<String> names) {
+        return mask(EQUIPMENT_BITS, names, CharacterRules.UNKNOWN_EQUIPMENT);
+    }
+
+    /** Primer nombre de names que no es una habilidad del catálogo, o null si todos lo son. */
+    public static String unknownSkill(Collection<String> names) {
+        return unknown(SKILL_BITS, names);
+    }
+
+    /** Primer nombre de names que no es un item del catálogo, o null si todos lo son. */
+    public static String unknownEquipment(Collection<String> names) {
+        return unknown(EQUIPMENT_BITS, names);
+    }
+
+    /** Posición de la habilidad en el catálogo, o -1 si no existe (null incluido); no lanza. */
+    public static int skillBit(String name) {
+        return bitOf(SKILL_BITS, name);
+    }
+
+    /** Posición del item en el catálogo, o -1 si no existe (null incluido); no lanza. */
+    public static int equipmentBit(String name) {
+        return bitOf(EQUIPMENT_BITS, name);
+    }
+
+    public static List<String> skillNames(int mask) {
+        return SKILL_NAMES.get(mask & (SKILL_NAMES.size() - 1));
+    }
+
+    public static List<String> equipmentNames(int mask) {
+        return EQUIPMENT_NAMES.get(mask & (EQUIPMENT_NAMES.size() - 1));
+    }
+
+    private static int mask(Map<String, Integer> bits, Collection<String> names, String unknownMessage) {
+        if (names == null) {
+            return 0;
+        }
+        int mask = 0;
+        for (String name : names) {
+            int bit = bitOf(bits, name);
+            if (bit < 0) {
+                throw new IllegalArgumentException(unknownMessage + name);
+            }
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    private static String unknown(Map<String, Integer> bits, Collection<String> names) {
+        if (names != null) {
+            for (String name : names) {
+                if (bitOf(bits, name) < 0) {
+                    return String.valueOf(name);
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Un null es un nombre desconocido más, no un error de programación. */
+    private static int bitOf(Map<String, Integer> bits, String name) {
+        return name == null ? -1 : bits.getOrDefault(name.trim(), -1);
+    }
+
+    private static Map<String, Integer> indexOf(List<String> catalog) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            index.put(catalog.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+
+    private static List<List<String>> decodeAll(List<String> catalog) {
+        List<List<String>> all = new ArrayList<>(1 << catalog.size());
+        for (int mask = 0; mask < 1 << catalog.size(); mask++) {
+            List<String> names = new ArrayList<>(Integer.bitCount(mask));
+            for (int bit = 0; bit < catalog.size(); bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    names.add(catalog.get(bit));
+                }
+            }
+            all.add(List.copyOf(names));
+        }
+        return List.copyOf(all);
+    }
+}
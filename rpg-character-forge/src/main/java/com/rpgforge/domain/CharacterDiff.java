@@ -0,0 +1,49 @@
+package com.rpgforge.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Diferencias entre un personaje de referencia (normalmente el original) y otro (normalmente un clon).
+ * Las estadísticas se guardan como deltas (other - base) y habilidades / equipamiento como máscaras
+ * de lo añadido y lo quitado, así que calcular un diff es aritmética de enteros sin recorrer listas.
+ */
+public record CharacterDiff(Character base, Character other,
+                            int levelDelta, int strengthDelta, int agilityDelta,
+                            int intelligenceDelta, int vitalityDelta, int luckDelta,
+                            boolean raceChanged, boolean classChanged,
+                            int skillsAdded, int skillsRemoved,
+                            int equipmentAdded, int equipmentRemoved) {
+
+    public static CharacterDiff between(Character base, Character other) {
+        return new CharacterDiff(base, other,
+                other.getLevel() - base.getLevel(),
+                other.getStrength() - base.getStrength(),
+                other.getAgility() - base.getAgility(),
+                other.getIntelligence() - base.getIntelligence(),
+                other.getVitality() - base.getVitality(),
+                other.getLuck() - base.getLuck(),
+                !Objects.equals(base.getRace(), other.getRace()),
+                !Objects.equals(base.getCharacterClass(), other.getCharacterClass()),
+                other.getSkillsMask() & ~base.getSkillsMask(),
+                base.getSkillsMask() & ~other.getSkillsMask(),
+                other.getEquipmentMask() & ~base.getEquipmentMask(),
+                base.getEquipmentMask() & ~other.getEquipmentMask());
+    }
+
+    public List<String> addedSkills() {
+        return CharacterCatalog.skillNames(skillsAdded);
+    }
+
+    public List<String> removedSkills() {
+        return CharacterCatalog.skillNames(skillsRemoved);
+    }
+
+    public List<String> addedEquipment() {
+        return CharacterCatalog.equipmentNames(equipmentAdded);
+    }
+
+    public List<String> removedEquipment() {
+        return CharacterCatalog.equipmentNames(equipmentRemoved);
+    }
+}
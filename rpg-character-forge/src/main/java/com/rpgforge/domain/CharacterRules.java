@@ -0,0 +1,30 @@
+package com.rpgforge.domain;
+
+/**
+ * Reglas de entrada de un personaje, compartidas por las anotaciones de Bean Validation de los DTO y por
+ * Character.Builder.validate(): los valores son constantes de compilación para poder usarse en las anotaciones,
+ * así que el wizard y la validación por lotes no pueden desalinearse.
+ */
+public final class CharacterRules {
+
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final int RACE_MAX_LENGTH = 50;
+    public static final int CLASS_MAX_LENGTH = 50;
+    public static final int MAX_SKILLS = 4;
+    public static final int MAX_EQUIPMENT = 3;
+
+    public static final String NAME_REQUIRED = "El nombre es obligatorio";
+    public static final String NAME_TOO_LONG = "El nombre no puede superar " + NAME_MAX_LENGTH + " caracteres";
+    public static final String RACE_TOO_LONG = "La raza no puede superar " + RACE_MAX_LENGTH + " caracteres";
+    public static final String CLASS_REQUIRED = "La clase es obligatoria";
+    public static final String CLASS_TOO_LONG = "La clase no puede superar " + CLASS_MAX_LENGTH + " caracteres";
+    public static final String STAT_OUT_OF_RANGE = "Debe estar entre " + Stat.MIN_VALUE + " y " + Stat.MAX_VALUE;
+    public static final String TOO_MANY_SKILLS = "Máximo " + MAX_SKILLS + " habilidades";
+    public static final String TOO_MANY_EQUIPMENT = "Máximo " + MAX_EQUIPMENT + " items de equipamiento";
+    public static final String UNKNOWN_SKILL = "Habilidad desconocida: ";
+    public static final String UNKNOWN_EQUIPMENT = "Equipamiento desconocido: ";
+    public static final String LINEAGE_TOO_DEEP = "El linaje de este personaje es demasiado profundo para clonarlo";
+
+    private CharacterRules() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.rpgforge.domain;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de Character.Builder.tryBuild(): el personaje construido si cumple todas las reglas de
+ * CharacterRules, o null y la lista completa de infracciones. No se lanza ninguna excepción en ningún caso.
+ */
+public record CharacterValidation(Character character, List<Violation> violations) {
+
+    /** Infracción de una regla; field es el nombre de la propiedad en CharacterFormDTO ("name", "luck"...). */
+    public record Violation(String field, String message) {
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /** Todas las infracciones en una línea: "name: El nombre es obligatorio; luck: Debe estar entre 1 y 100". */
+    public String message() {
+        return violations.stream()
+                .map(v -> v.field() + ": " + v.message())
+                .collect(Collectors.joining("; "));
+    }
+}
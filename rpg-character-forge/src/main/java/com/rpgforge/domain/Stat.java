@@ -0,0 +1,37 @@
+package com.rpgforge.domain;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Atributos numéricos de un personaje (nivel y las cinco estadísticas), todos en el rango 1..100.
+ * El orden de las constantes es el orden de las columnas de StatColumns.
+ */
+public enum Stat {
+
+    LEVEL("level", Character::getLevel),
+    STRENGTH("strength", Character::getStrength),
+    AGILITY("agility", Character::getAgility),
+    INTELLIGENCE("intelligence", Character::getIntelligence),
+    VITALITY("vitality", Character::getVitality),
+    LUCK("luck", Character::getLuck);
+
+    public static final int MIN_VALUE = 1;
+    public static final int MAX_VALUE = 100;
+
+    private final String property;
+    private final ToIntFunction<Character> getter;
+
+    Stat(String property, ToIntFunction<Character> getter) {
+        this.property = property;
+        this.getter = getter;
+    }
+
+    /** Nombre de la propiedad en Character y en los parámetros de consulta ("strength", "luck"...). */
+    public String getProperty() {
+        return property;
+    }
+
+    public int valueOf(Character character) {
+        return getter.applyAsInt(character);
+    }
+}
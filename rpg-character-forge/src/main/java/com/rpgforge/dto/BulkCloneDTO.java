@@ -0,0 +1,82 @@
+package com.rpgforge.dto;
+
+import com.rpgforge.domain.CharacterRules;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para estampar N copias de un mismo prototipo en una sola operación.
+ * namePattern admite el marcador {n} (1..count); si no aparece, se añade " #n" al final.
+ * El resto de campos es el patch opcional que se aplica a cada copia.
+ */
+public class BulkCloneDTO {
+
+    public static final String INDEX_PLACEHOLDER = "{n}";
+
+    @Min(value = 1, message = "Se debe crear al menos una copia")
+    @Max(value = 10_000, message = "Máximo 10000 copias por petición")
+    private int count = 1;
+
+    @NotBlank(message = "El patrón de nombre es obligatorio")
+    @Size(max = 90)
+    private String namePattern;
+
+    @Size(max = CharacterRules.CLASS_MAX_LENGTH, message = CharacterRules.CLASS_TOO_LONG)
+    private String characterClass;
+
+    @Size(max = CharacterRules.MAX_SKILLS, message = CharacterRules.TOO_MANY_SKILLS)
+    private List<String> skills;
+
+    @Size(max = CharacterRules.MAX_EQUIPMENT, message = CharacterRules.TOO_MANY_EQUIPMENT)
+    private List<String> equipment;
+
+    public String nameFor(int n) {
+        return namePattern.contains(INDEX_PLACEHOLDER)
+                ? namePattern.replace(INDEX_PLACEHOLDER, Integer.toString(n))
+                : namePattern + " #" + n;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public String getNamePattern() {
+        return namePattern;
+    }
+
+    public void setNamePattern(String namePattern) {
+        this.namePattern = namePattern;
+    }
+
+    public String getCharacterClass() {
+        return characterClass;
+    }
+
+    public void setCharacterClass(String characterClass) {
+        this.characterClass = characterClass;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public List<String> getEquipment() {
+        return equipment;
+    }
+
+    public void setEquipment(List<String> equipment) {
+        this.equipment = equipment;
+    }
+}
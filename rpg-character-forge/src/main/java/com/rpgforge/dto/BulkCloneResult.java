@@ -0,0 +1,8 @@
+package com.rpgforge.dto;
+
+/**
+ * Resultado de una clonación masiva: cuántas copias se insertaron, el rango de ids y el throughput medido.
+ */
+public record BulkCloneResult(long originalId, int created, long firstId, long lastId,
+                              long elapsedMillis, double rowsPerSecond) {
+}
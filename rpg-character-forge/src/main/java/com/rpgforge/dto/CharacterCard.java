@@ -0,0 +1,23 @@
+package com.rpgforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarjeta de la galería: solo las columnas que pinta gallery.html más createdAt para el cursor.
+ * Se construye directamente en la consulta JPQL, sin entidad gestionada: no arrastra lineage_path ni
+ * habilidades/equipamiento y no entra en el contexto de persistencia ni en el dirty checking.
+ * El personaje completo se carga aparte cuando hace falta (modal de clonación, comparación).
+ */
+public record CharacterCard(Long id,
+                            String name,
+                            String race,
+                            String characterClass,
+                            int level,
+                            int strength,
+                            int agility,
+                            int intelligence,
+                            int vitality,
+                            int luck,
+                            Long clonedFromId,
+                            LocalDateTime createdAt) {
+}
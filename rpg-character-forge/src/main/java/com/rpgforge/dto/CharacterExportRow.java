@@ -0,0 +1,12 @@
+package com.rpgforge.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de exportación: proyección no gestionada de Character, para no llenar el contexto de persistencia
+ * al recorrer la tabla completa.
+ */
+public record CharacterExportRow(Long id, String name, String race, String characterClass, int level,
+                                 int strength, int agility, int intelligence, int vitality, int luck,
+                                 int skillsMask, int equipmentMask, Long clonedFromId, LocalDateTime createdAt) {
+}
@@ -1,51 +1,56 @@
 package com.rpgforge.dto;
 
+import com.rpgforge.domain.CharacterRules;
+import com.rpgforge.domain.Stat;
 import jakarta.validation.constraints.*;
 
 import java.util.List;
 
 /**
  * DTO para el formulario del wizard de creación de personaje.
+ * Los límites y mensajes vienen de CharacterRules, los mismos que aplica Character.Builder.validate().
  */
 public class CharacterFormDTO {
 
-    @NotBlank(message = "El nombre es obligatorio")
-    @Size(max = 100)
+    @NotBlank(message = CharacterRules.NAME_REQUIRED)
+    @Size(max = CharacterRules.NAME_MAX_LENGTH, message = CharacterRules.NAME_TOO_LONG)
     private String name;
 
+    @Size(max = CharacterRules.RACE_MAX_LENGTH, message = CharacterRules.RACE_TOO_LONG)
     private String race;
 
-    @NotBlank(message = "La clase es obligatoria")
+    @NotBlank(message = CharacterRules.CLASS_REQUIRED)
+    @Size(max = CharacterRules.CLASS_MAX_LENGTH, message = CharacterRules.CLASS_TOO_LONG)
     private String characterClass;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int level = 1;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int strength = 1;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int agility = 1;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int intelligence = 1;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int vitality = 1;
 
-    @Min(1)
-    @Max(100)
+    @Min(value = Stat.MIN_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
+    @Max(value = Stat.MAX_VALUE, message = CharacterRules.STAT_OUT_OF_RANGE)
     private int luck = 1;
 
-    @Size(max = 4, message = "Máximo 4 habilidades")
+    @Size(max = CharacterRules.MAX_SKILLS, message = CharacterRules.TOO_MANY_SKILLS)
     private List<String> skills = List.of();
 
-    @Size(max = 3, message = "Máximo 3 items de equipamiento")
+    @Size(max = CharacterRules.MAX_EQUIPMENT, message = CharacterRules.TOO_MANY_EQUIPMENT)
     private List<String> equipment = List.of();
 
     public String getName() {
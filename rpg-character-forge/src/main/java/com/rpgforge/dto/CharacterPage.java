@@ -0,0 +1,18 @@
+package com.rpgforge.dto;
+
+import java.util.List;
+
+/**
+ * Página de la galería con los cursores para avanzar y retroceder.
+ * nextCursor / prevCursor son null cuando no hay más elementos en esa dirección.
+ */
+public record CharacterPage<T>(List<T> items, String nextCursor, String prevCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrev() {
+        return prevCursor != null;
+    }
+}
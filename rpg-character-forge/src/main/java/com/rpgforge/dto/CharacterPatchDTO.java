@@ -1,5 +1,6 @@
 package com.rpgforge.dto;
 
+import com.rpgforge.domain.CharacterRules;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -12,15 +13,16 @@ import java.util.List;
 public class CharacterPatchDTO {
 
     @NotBlank(message = "El nuevo nombre es obligatorio")
-    @Size(max = 100)
+    @Size(max = CharacterRules.NAME_MAX_LENGTH, message = CharacterRules.NAME_TOO_LONG)
     private String name;
 
+    @Size(max = CharacterRules.CLASS_MAX_LENGTH, message = CharacterRules.CLASS_TOO_LONG)
     private String characterClass;
 
-    @Size(max = 4, message = "Máximo 4 habilidades")
+    @Size(max = CharacterRules.MAX_SKILLS, message = CharacterRules.TOO_MANY_SKILLS)
     private List<String> skills;
 
-    @Size(max = 3, message = "Máximo 3 items de equipamiento")
+    @Size(max = CharacterRules.MAX_EQUIPMENT, message = CharacterRules.TOO_MANY_EQUIPMENT)
     private List<String> equipment;
 
     public String getName() {
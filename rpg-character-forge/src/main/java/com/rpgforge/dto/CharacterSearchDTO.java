@@ -0,0 +1,88 @@
+package com.rpgforge.dto;
+
+import com.rpgforge.domain.CharacterCatalog;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Criterios de búsqueda de la galería y de /api/characters/search. Todos son opcionales y se combinan con AND:
+ * clase y raza exactas, y el personaje debe tener todas las habilidades y todo el equipamiento indicados.
+ */
+public class CharacterSearchDTO {
+
+    private String characterClass;
+    private String race;
+    private List<String> skills;
+    private List<String> equipment;
+
+    public boolean isEmpty() {
+        return isBlank(characterClass) && isBlank(race)
+                && (skills == null || skills.isEmpty()) && (equipment == null || equipment.isEmpty());
+    }
+
+    /** Lanza IllegalArgumentException si alguna habilidad no está en el catálogo. */
+    public int skillsMask() {
+        return CharacterCatalog.skillsMask(skills);
+    }
+
+    /** Lanza IllegalArgumentException si algún equipamiento no está en el catálogo. */
+    public int equipmentMask() {
+        return CharacterCatalog.equipmentMask(equipment);
+    }
+
+    /** Los criterios como parámetros de consulta ("&characterClass=Mago&skills=..."), para los enlaces de paginación. */
+    public String toQueryString() {
+        UriComponentsBuilder query = UriComponentsBuilder.newInstance();
+        if (!isBlank(characterClass)) {
+            query.queryParam("characterClass", characterClass);
+        }
+        if (!isBlank(race)) {
+            query.queryParam("race", race);
+        }
+        if (skills != null) {
+            skills.forEach(skill -> query.queryParam("skills", skill));
+        }
+        if (equipment != null) {
+            equipment.forEach(item -> query.queryParam("equipment", item));
+        }
+        String encoded = query.encode().build().getQuery();
+        return encoded == null ? "" : "&" + encoded;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public String getCharacterClass() {
+        return characterClass;
+    }
+
+    public void setCharacterClass(String characterClass) {
+        this.characterClass = characterClass;
+    }
+
+    public String getRace() {
+        return race;
+    }
+
+    public void setRace(String race) {
+        this.race = race;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public List<String> getEquipment() {
+        return equipment;
+    }
+
+    public void setEquipment(List<String> equipment) {
+        this.equipment = equipment;
+    }
+}
@@ -0,0 +1,8 @@
+package com.rpgforge.dto;
+
+/**
+ * Resultado de una búsqueda: total de coincidencias (sin paginar) y la página pedida,
+ * con cursores por id en orden descendente.
+ */
+public record CharacterSearchResult<T>(int total, CharacterPage<T> page) {
+}
@@ -0,0 +1,8 @@
+package com.rpgforge.dto;
+
+/**
+ * Agregado de una clase: número de personajes y media de cada estadística.
+ */
+public record ClassStats(String characterClass, long count, double avgLevel, double avgStrength, double avgAgility,
+                         double avgIntelligence, double avgVitality, double avgLuck) {
+}
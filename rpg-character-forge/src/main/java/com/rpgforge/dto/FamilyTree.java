@@ -0,0 +1,9 @@
+package com.rpgforge.dto;
+
+import java.util.List;
+
+/**
+ * Familia completa de clones en orden de creación, empezando por la raíz.
+ */
+public record FamilyTree(Long rootId, int size, int maxDepth, List<LineageNode> nodes) {
+}
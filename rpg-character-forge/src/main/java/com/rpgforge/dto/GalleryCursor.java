@@ -0,0 +1,45 @@
+package com.rpgforge.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cursor de paginación keyset sobre (createdAt, id).
+ * Se serializa como "epochMicros.id" para viajar en la URL de la galería.
+ */
+public record GalleryCursor(LocalDateTime createdAt, long id) {
+
+    public static GalleryCursor of(CharacterCard card) {
+        return new GalleryCursor(card.createdAt(), card.id());
+    }
+
+    /**
+     * Devuelve null si el valor no es un cursor válido, para que un cursor manipulado
+     * simplemente reinicie la galería en la primera página.
+     */
+    public static GalleryCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int dot = value.indexOf('.');
+        if (dot <= 0 || dot == value.length() - 1) {
+            return null;
+        }
+        try {
+            long micros = Long.parseLong(value, 0, dot, 10);
+            long id = Long.parseLong(value, dot + 1, value.length(), 10);
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                    ZoneOffset.UTC);
+            return new GalleryCursor(createdAt, id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+        return micros + "." + id;
+    }
+}
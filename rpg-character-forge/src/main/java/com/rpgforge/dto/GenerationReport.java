@@ -0,0 +1,9 @@
+package com.rpgforge.dto;
+
+/**
+ * Resultado de PopulationGenerator.generate(): filas creadas, de ellas cuántas son originales y cuántas clones,
+ * y el ritmo de generación (construcción + persistencia).
+ */
+public record GenerationReport(long seed, long generated, long originals, long clones,
+                               long elapsedMillis, double rowsPerSecond) {
+}
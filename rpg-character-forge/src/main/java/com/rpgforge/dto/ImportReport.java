@@ -0,0 +1,15 @@
+package com.rpgforge.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva. errors incluye como mucho los primeros maxErrors rechazos;
+ * rejected cuenta todos.
+ */
+public record ImportReport(String format, long rowsRead, long imported, long rejected,
+                           List<ImportError> errors, long elapsedMillis, double rowsPerSecond) {
+
+    /** Fila rechazada: número de línea en el fichero de origen y motivo. */
+    public record ImportError(long line, String message) {
+    }
+}
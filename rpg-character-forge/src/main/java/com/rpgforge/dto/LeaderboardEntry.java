@@ -0,0 +1,7 @@
+package com.rpgforge.dto;
+
+/**
+ * Posición de un personaje en una clasificación (rank empieza en 1).
+ */
+public record LeaderboardEntry(int rank, Long id, String name, String characterClass, int score) {
+}
@@ -0,0 +1,22 @@
+package com.rpgforge.dto;
+
+/**
+ * Nodo de una familia de clones. depth es 0 para la raíz; clonedFromId permite reconstruir el árbol.
+ */
+public record LineageNode(Long id, String name, String characterClass, Long clonedFromId, int depth) {
+
+    /** Constructor usado por la consulta JPQL: la profundidad se deriva de lineage_path. */
+    public LineageNode(Long id, String name, String characterClass, Long clonedFromId, String lineagePath) {
+        this(id, name, characterClass, clonedFromId, depthOf(lineagePath));
+    }
+
+    private static int depthOf(String lineagePath) {
+        int slashes = 0;
+        for (int i = 0; i < lineagePath.length(); i++) {
+            if (lineagePath.charAt(i) == '/') {
+                slashes++;
+            }
+        }
+        return slashes - 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.rpgforge.dto;
+
+/**
+ * Contadores del registro de prototipos en memoria, para dimensionar su capacidad.
+ */
+public record PrototypeCacheStats(int size, int capacity, long hits, long misses,
+                                  long evictions, long invalidations, double hitRatio) {
+
+    public static PrototypeCacheStats of(int size, int capacity, long hits, long misses,
+                                         long evictions, long invalidations) {
+        long lookups = hits + misses;
+        double hitRatio = lookups == 0 ? 0.0 : (double) hits / lookups;
+        return new PrototypeCacheStats(size, capacity, hits, misses, evictions, invalidations, hitRatio);
+    }
+}
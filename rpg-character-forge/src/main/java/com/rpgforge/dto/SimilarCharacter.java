@@ -0,0 +1,7 @@
+package com.rpgforge.dto;
+
+/**
+ * Personaje parecido a uno de referencia: distancia euclídea entre sus vectores (nivel + estadísticas) y su tarjeta.
+ */
+public record SimilarCharacter(double distance, CharacterCard character) {
+}
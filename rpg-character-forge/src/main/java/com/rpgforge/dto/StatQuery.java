@@ -0,0 +1,67 @@
+package com.rpgforge.dto;
+
+import com.rpgforge.domain.Stat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Filtro por rangos de estadísticas, opcionalmente restringido a una clase.
+ * Se lee de parámetros minX / maxX (minStrength=81, maxLuck=20, minLevel=50...), ambos extremos incluidos;
+ * las estadísticas sin parámetros no filtran.
+ */
+public final class StatQuery {
+
+    private final String characterClass;
+    private final int[] min = new int[Stat.values().length];
+    private final int[] max = new int[Stat.values().length];
+
+    private StatQuery(String characterClass) {
+        this.characterClass = characterClass == null || characterClass.isBlank() ? null : characterClass.trim();
+        Arrays.fill(min, Stat.MIN_VALUE);
+        Arrays.fill(max, Stat.MAX_VALUE);
+    }
+
+    public static StatQuery all() {
+        return new StatQuery(null);
+    }
+
+    /** Lanza IllegalArgumentException si un límite no es un entero. */
+    public static StatQuery from(Map<String, String> params) {
+        StatQuery query = new StatQuery(params.get("characterClass"));
+        for (Stat stat : Stat.values()) {
+            String suffix = Character.toUpperCase(stat.getProperty().charAt(0)) + stat.getProperty().substring(1);
+            query.min[stat.ordinal()] = bound(params.get("min" + suffix), Stat.MIN_VALUE, "min" + suffix);
+            query.max[stat.ordinal()] = bound(params.get("max" + suffix), Stat.MAX_VALUE, "max" + suffix);
+        }
+        return query;
+    }
+
+    private static int bound(String value, int defaultValue, String name) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor no numérico para " + name + ": " + value);
+        }
+    }
+
+    public String getCharacterClass() {
+        return characterClass;
+    }
+
+    public int min(Stat stat) {
+        return min[stat.ordinal()];
+    }
+
+    public int max(Stat stat) {
+        return max[stat.ordinal()];
+    }
+
+    /** true si el rango de stat deja fuera algún valor posible, es decir, si hay que comprobarlo. */
+    public boolean constrains(Stat stat) {
+        return min(stat) > Stat.MIN_VALUE || max(stat) < Stat.MAX_VALUE;
+    }
+}
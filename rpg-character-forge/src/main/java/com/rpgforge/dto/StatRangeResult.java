@@ -0,0 +1,11 @@
+package com.rpgforge.dto;
+
+import com.rpgforge.domain.Character;
+
+import java.util.List;
+
+/**
+ * Resultado de un filtro por rangos: total de coincidencias y los más recientes, hasta el límite pedido.
+ */
+public record StatRangeResult(int total, List<Character> items) {
+}
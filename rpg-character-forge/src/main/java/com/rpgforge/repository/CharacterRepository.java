@@ -1,13 +1,92 @@
 package com.rpgforge.repository;
 
 import com.rpgforge.domain.Character;
+import com.rpgforge.dto.CharacterCard;
+import com.rpgforge.dto.CharacterExportRow;
+import com.rpgforge.dto.LineageNode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CharacterRepository extends JpaRepository<Character, Long> {
 
     List<Character> findAllByOrderByCreatedAtDesc();
+
+    // --- Paginación keyset sobre el índice (created_at, id) ---
+
+    /** Proyección de la tarjeta de galería (ver CharacterCard). */
+    String CARD = "new com.rpgforge.dto.CharacterCard(c.id, c.name, c.race, c.characterClass, c.level, "
+            + "c.strength, c.agility, c.intelligence, c.vitality, c.luck, c.clonedFromId, c.createdAt)";
+
+    @Query("SELECT " + CARD + " FROM Character c ORDER BY c.createdAt DESC, c.id DESC")
+    List<CharacterCard> findFirstPage(Pageable limit);
+
+    @Query("SELECT " + CARD + " FROM Character c WHERE (c.createdAt, c.id) < (:createdAt, :id) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CharacterCard> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") long id,
+                                      Pageable limit);
+
+    /** Devuelve la página anterior en orden ascendente; el llamador la invierte. */
+    @Query("SELECT " + CARD + " FROM Character c WHERE (c.createdAt, c.id) > (:createdAt, :id) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CharacterCard> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") long id,
+                                       Pageable limit);
+
+    /** Tarjetas de los ids indicados, en cualquier orden. */
+    @Query("SELECT " + CARD + " FROM Character c WHERE c.id IN :ids")
+    List<CharacterCard> findCardsById(@Param("ids") Collection<Long> ids);
+
+    /** Filas [id, name, clonedFromId] para reconstruir el modelo de linaje sin hidratar entidades. */
+    @Query("SELECT c.id, c.name, c.clonedFromId FROM Character c")
+    Stream<Object[]> streamLineage();
+
+    /** Filas [id, race, characterClass, skillsMask, equipmentMask] para reconstruir el índice de búsqueda. */
+    @Query("SELECT c.id, c.race, c.characterClass, c.skillsMask, c.equipmentMask FROM Character c")
+    Stream<Object[]> streamSearchFields();
+
+    /** Filas [id, characterClass, level, strength, agility, intelligence, vitality, luck] para StatColumns. */
+    @Query("SELECT c.id, c.characterClass, c.level, c.strength, c.agility, c.intelligence, c.vitality, c.luck "
+            + "FROM Character c")
+    Stream<Object[]> streamStats();
+
+    /** Filas [id, name, characterClass, level, strength, agility, intelligence, vitality, luck] para Leaderboards. */
+    @Query("SELECT c.id, c.name, c.characterClass, c.level, c.strength, c.agility, c.intelligence, c.vitality, c.luck "
+            + "FROM Character c")
+    Stream<Object[]> streamLeaderboardFields();
+
+    // --- Linaje (ruta materializada) ---
+
+    /** Todos los descendientes cuyo lineage_path empieza por el prefijo; usa idx_characters_lineage_path. */
+    @Query("SELECT new com.rpgforge.dto.LineageNode(c.id, c.name, c.characterClass, c.clonedFromId, c.lineagePath) "
+            + "FROM Character c WHERE c.lineagePath LIKE CONCAT(:prefix, '%') ORDER BY c.id")
+    List<LineageNode> findDescendants(@Param("prefix") String prefix);
+
+    @Query("SELECT new com.rpgforge.dto.LineageNode(c.id, c.name, c.characterClass, c.clonedFromId, c.lineagePath) "
+            + "FROM Character c WHERE c.id IN :ids")
+    List<LineageNode> findLineageNodes(@Param("ids") Collection<Long> ids);
+
+    // --- Exportación ---
+
+    /** Cursor de solo avance sobre proyecciones no gestionadas; requiere una transacción abierta mientras se consume. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.rpgforge.dto.CharacterExportRow(c.id, c.name, c.race, c.characterClass, c.level, "
+            + "c.strength, c.agility, c.intelligence, c.vitality, c.luck, c.skillsMask, c.equipmentMask, "
+            + "c.clonedFromId, c.createdAt) FROM Character c ORDER BY c.id")
+    Stream<CharacterExportRow> streamForExport();
 }
@@ -0,0 +1,156 @@
+package com.rpgforge.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.dto.CharacterExportRow;
+import com.rpgforge.repository.CharacterRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exporta la tabla de personajes completa como NDJSON o CSV.
+ * Recorre un cursor de solo avance sobre proyecciones no gestionadas y escribe cada fila directamente
+ * en el Writer de la respuesta, así que la memoria usada no depende del tamaño de la tabla.
+ */
+@Service
+public class CharacterExportService {
+
+    private final CharacterRepository characterRepository;
+    private final JsonFactory jsonFactory;
+
+    public CharacterExportService(CharacterRepository characterRepository, ObjectMapper objectMapper) {
+        this.characterRepository = characterRepository;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /** Devuelve el número de filas escritas. */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, Writer out) throws IOException {
+        try (Stream<CharacterExportRow> rows = characterRepository.streamForExport()) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(rows, out);
+                case CSV -> writeCsv(rows, out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeNdjson(Stream<CharacterExportRow> rows, Writer out) throws IOException {
+        long[] count = {0};
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            rows.forEach(row -> {
+                try {
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.id());
+                    json.writeStringField("name", row.name());
+                    json.writeStringField("race", row.race());
+                    json.writeStringField("characterClass", row.characterClass());
+                    json.writeNumberField("level", row.level());
+                    json.writeNumberField("strength", row.strength());
+                    json.writeNumberField("agility", row.agility());
+                    json.writeNumberField("intelligence", row.intelligence());
+                    json.writeNumberField("vitality", row.vitality());
+                    json.writeNumberField("luck", row.luck());
+                    writeArray(json, "skills", CharacterCatalog.skillNames(row.skillsMask()));
+                    writeArray(json, "equipment", CharacterCatalog.equipmentNames(row.equipmentMask()));
+                    if (row.clonedFromId() == null) {
+                        json.writeNullField("clonedFromId");
+                    } else {
+                        json.writeNumberField("clonedFromId", row.clonedFromId());
+                    }
+                    json.writeStringField("createdAt", row.createdAt() == null ? null : row.createdAt().toString());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return count[0];
+    }
+
+    private static void writeArray(JsonGenerator json, String field, List<String> values) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (String value : values) {
+            json.writeString(value);
+        }
+        json.writeEndArray();
+    }
+
+    private long writeCsv(Stream<CharacterExportRow> rows, Writer out) throws IOException {
+        out.write(String.join(",", ExportFormat.COLUMNS));
+        out.write('\n');
+        long[] count = {0};
+        rows.forEach(row -> {
+            try {
+                out.write(Long.toString(row.id()));
+                out.write(',');
+                writeCsvField(out, row.name());
+                out.write(',');
+                writeCsvField(out, row.race());
+                out.write(',');
+                writeCsvField(out, row.characterClass());
+                out.write(',');
+                out.write(Integer.toString(row.level()));
+                out.write(',');
+                out.write(Integer.toString(row.strength()));
+                out.write(',');
+                out.write(Integer.toString(row.agility()));
+                out.write(',');
+                out.write(Integer.toString(row.intelligence()));
+                out.write(',');
+                out.write(Integer.toString(row.vitality()));
+                out.write(',');
+                out.write(Integer.toString(row.luck()));
+                out.write(',');
+                writeCsvField(out, String.join(ExportFormat.LIST_SEPARATOR, CharacterCatalog.skillNames(row.skillsMask())));
+                out.write(',');
+                writeCsvField(out, String.join(ExportFormat.LIST_SEPARATOR, CharacterCatalog.equipmentNames(row.equipmentMask())));
+                out.write(',');
+                if (row.clonedFromId() != null) {
+                    out.write(Long.toString(row.clonedFromId()));
+                }
+                out.write(',');
+                if (row.createdAt() != null) {
+                    out.write(row.createdAt().toString());
+                }
+                out.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    /** RFC 4180: se entrecomilla solo si el valor contiene separador, comillas o saltos de línea. */
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
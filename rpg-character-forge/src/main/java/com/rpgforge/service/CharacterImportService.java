@@ -0,0 +1,386 @@
+package com.rpgforge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterValidation;
+import com.rpgforge.dto.ImportReport;
+import com.rpgforge.dto.ImportReport.ImportError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ═══ PATRÓN BUILDER ═══ — importación masiva
+ * Lee NDJSON o CSV (mismas columnas que la exportación) de forma incremental, construye cada fila con
+ * Character.Builder en paralelo por bloques y persiste cada bloque en su propia transacción por lotes
+ * (CharacterService.saveAll). Las filas inválidas se anotan en el informe en lugar de abortar: cada fila pasa
+ * por Character.Builder.tryBuild(), con las mismas reglas que el wizard y todas sus infracciones en el mensaje.
+ * Se ignoran id, clonedFromId y createdAt del origen: cada fila importada es un personaje nuevo.
+ */
+@Service
+public class CharacterImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CharacterService characterService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public CharacterImportService(CharacterService characterService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${rpgforge.import.chunk-size:5000}") int chunkSize) {
+        this.characterService = characterService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importFrom(ExportFormat format, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        List<ImportError> errors = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024)) {
+            RecordSource source = format == ExportFormat.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            boolean more = true;
+            while (more) {
+                RawRecord record = source.next();
+                more = record != null;
+                if (more) {
+                    chunk.add(record);
+                }
+                if (chunk.size() == chunkSize || (!more && !chunk.isEmpty())) {
+                    // Parseo + Builder en paralelo; el orden de las filas se conserva
+                    List<Object> built = chunk.parallelStream()
+                            .map(r -> build(source, r))
+                            .toList();
+                    List<Character> valid = new ArrayList<>(built.size());
+                    for (Object result : built) {
+                        if (result instanceof Character character) {
+                            valid.add(character);
+                        } else {
+                            rejected++;
+                            if (errors.size() < MAX_REPORTED_ERRORS) {
+                                errors.add((ImportError) result);
+                            }
+                        }
+                    }
+                    characterService.saveAll(valid);
+                    rowsRead += chunk.size();
+                    imported += valid.size();
+                    chunk.clear();
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return new ImportReport(format.name().toLowerCase(), rowsRead, imported, rejected, errors,
+                elapsedNanos / 1_000_000, rowsRead * 1_000_000_000.0 / Math.max(1, elapsedNanos));
+    }
+
+    /**
+     * Devuelve el Character construido o un ImportError; nunca lanza. Solo un registro mal formado (JSON roto,
+     * número ilegible) llega como excepción; las infracciones de reglas vuelven de tryBuild() sin lanzar.
+     */
+    private Object build(RecordSource source, RawRecord record) {
+        Character.Builder builder;
+        try {
+            builder = source.toBuilder(record);
+        } catch (RuntimeException e) {
+            return new ImportError(record.line(), e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        CharacterValidation validation = builder.tryBuild();
+        return validation.isValid() ? validation.character() : new ImportError(record.line(), validation.message());
+    }
+
+    private static List<String> splitList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : value.split("\\|")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    /** Nivel y estadísticas son obligatorios en los dos formatos: un valor vacío o no entero rechaza la fila. */
+    private static int parseInt(String field, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " es obligatorio");
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " no es un número: " + value);
+        }
+    }
+
+    // --- Lectura incremental: la división en registros es secuencial, la conversión a Builder es paralela ---
+
+    private record RawRecord(long line, Object payload) {
+    }
+
+    private interface RecordSource {
+        /** Siguiente registro sin interpretar, o null al final del fichero. */
+        RawRecord next() throws IOException;
+
+        Character.Builder toBuilder(RawRecord record);
+    }
+
+    private final class NdjsonSource implements RecordSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            return text == null ? null : new RawRecord(line, text);
+        }
+
+        @Override
+        public Character.Builder toBuilder(RawRecord record) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree((String) record.payload());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON mal formado: " + e.getOriginalMessage());
+            }
+            return new Character.Builder()
+                    .name(text(node, "name"))
+                    .race(text(node, "race"))
+                    .characterClass(text(node, "characterClass"))
+                    .level(intValue(node, "level"))
+                    .strength(intValue(node, "strength"))
+                    .agility(intValue(node, "agility"))
+                    .intelligence(intValue(node, "intelligence"))
+                    .vitality(intValue(node, "vitality"))
+                    .luck(intValue(node, "luck"))
+                    .skills(list(node.path("skills")))
+                    .equipment(list(node.path("equipment")));
+        }
+
+        private static int intValue(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            if (value == null || value.isNull()) {
+                throw new IllegalArgumentException(field + " es obligatorio");
+            }
+            if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+                throw new IllegalArgumentException(field + " no es un número entero: " + value);
+            }
+            return value.intValue();
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+
+        /** Acepta tanto un array JSON como el texto separado por '|' del CSV. */
+        private static List<String> list(JsonNode node) {
+            if (node.isArray()) {
+                List<String> names = new ArrayList<>(node.size());
+                node.forEach(n -> names.add(n.asText()));
+                return names;
+            }
+            return splitList(node.isMissingNode() || node.isNull() ? null : node.asText());
+        }
+    }
+
+    private static final class CsvSource implements RecordSource {
+        // Resultado de readRecord() para un registro que no se puede analizar (distinto de una fila vacía)
+        private static final List<String> MALFORMED = new ArrayList<>(0);
+        private static final int NONE = -2;
+        // Una fila válida ocupa unos cientos de caracteres: más allá de esto se descarta en lugar de acumularla
+        private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+        private final Reader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line = 1;
+        // Texto ya leído que hay que volver a analizar tras un registro mal formado
+        private String replay = "";
+        private int replayPos;
+        private int peeked = NONE;
+        private String malformedReason;
+
+        CsvSource(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == MALFORMED) {
+                throw new IllegalArgumentException("Cabecera CSV inválida: " + malformedReason);
+            }
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("characterClass")) {
+                throw new IllegalArgumentException("Cabecera CSV inválida: se esperaban las columnas " + ExportFormat.COLUMNS);
+            }
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            long startLine;
+            List<String> fields;
+            do {
+                startLine = line;
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            if (fields == MALFORMED) {
+                return new RawRecord(startLine, malformedReason + " en la línea " + startLine);
+            }
+            return fields == null ? null : new RawRecord(startLine, fields);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Character.Builder toBuilder(RawRecord record) {
+            if (record.payload() instanceof String error) {
+                throw new IllegalArgumentException(error);
+            }
+            List<String> fields = (List<String>) record.payload();
+            return new Character.Builder()
+                    .name(field(fields, "name"))
+                    .race(field(fields, "race"))
+                    .characterClass(field(fields, "characterClass"))
+                    .level(parseInt("level", field(fields, "level")))
+                    .strength(parseInt("strength", field(fields, "strength")))
+                    .agility(parseInt("agility", field(fields, "agility")))
+                    .intelligence(parseInt("intelligence", field(fields, "intelligence")))
+                    .vitality(parseInt("vitality", field(fields, "vitality")))
+                    .luck(parseInt("luck", field(fields, "luck")))
+                    .skills(splitList(field(fields, "skills")))
+                    .equipment(splitList(field(fields, "equipment")));
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Lee un registro RFC 4180 (los campos entrecomillados pueden contener comas y saltos de línea).
+         * Si el fichero termina con unas comillas abiertas, o el registro pasa de MAX_RECORD_CHARS caracteres
+         * (unas comillas sueltas se tragarían el resto del fichero), devuelve MALFORMED y deja preparado para
+         * volver a leer todo lo que venía después de la primera línea del registro: solo se pierde esa fila y
+         * nunca se retienen más de MAX_RECORD_CHARS caracteres.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            long startLine = line;
+            StringBuilder raw = new StringBuilder();
+            List<String> fields = new ArrayList<>(ExportFormat.COLUMNS.size());
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c != -1) {
+                    raw.append((char) c);
+                }
+                if (raw.length() > MAX_RECORD_CHARS) {
+                    return malformed(raw, startLine, "Registro de más de " + MAX_RECORD_CHARS + " caracteres");
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        return malformed(raw, startLine, "Comillas sin cerrar");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            raw.append('"');
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            peeked = next;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        /**
+         * Descarta el registro que empezó en startLine y sigue por la línea siguiente: lo leído tras el primer
+         * salto de línea se vuelve a analizar (por delante de lo que quedara pendiente de un reanálisis anterior)
+         * y, si la primera línea aún no había terminado, se salta hasta su final sin guardarla.
+         */
+        private List<String> malformed(StringBuilder raw, long startLine, String reason) throws IOException {
+            int firstNewline = raw.indexOf("\n");
+            String pending = replay.substring(replayPos);
+            if (firstNewline < 0) {
+                replay = pending;
+                replayPos = 0;
+                int c;
+                do {
+                    c = read();
+                } while (c != '\n' && c != -1);
+            } else {
+                replay = raw.substring(firstNewline + 1) + pending;
+                replayPos = 0;
+            }
+            line = startLine + 1;
+            malformedReason = reason;
+            return MALFORMED;
+        }
+
+        private int read() throws IOException {
+            if (peeked != NONE) {
+                int c = peeked;
+                peeked = NONE;
+                return c;
+            }
+            if (replayPos < replay.length()) {
+                return replay.charAt(replayPos++);
+            }
+            return reader.read();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.rpgforge.service;
+
+/**
+ * El personaje pedido no existe. Extiende IllegalArgumentException para que los llamadores que ya tratan los
+ * argumentos inválidos sigan funcionando; la API la distingue del resto para responder 404 en lugar de 400.
+ */
+public class CharacterNotFoundException extends IllegalArgumentException {
+
+    public CharacterNotFoundException(String message) {
+        super(message);
+    }
+}
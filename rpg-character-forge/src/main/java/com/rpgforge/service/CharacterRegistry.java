@@ -1,49 +1,164 @@
 package com.rpgforge.service;
 
 import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.CharacterRules;
+import com.rpgforge.dto.BulkCloneDTO;
+import com.rpgforge.dto.BulkCloneResult;
 import com.rpgforge.dto.CharacterPatchDTO;
+import com.rpgforge.dto.PrototypeCacheStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Servicio que orquesta la clonación de personajes.
  * ═══ PATRÓN PROTOTYPE ═══ — usa Character.clone() y aplica un patch opcional.
+ * Mantiene en memoria los prototipos usados recientemente (LRU acotado), de modo que clonar
+ * un original "caliente" solo cuesta el INSERT del clon.
  */
 @Service
 public class CharacterRegistry {
 
     private final CharacterService characterService;
+    private final ForgeMetrics metrics;
+    private final int capacity;
+    private final Map<Long, Character> prototypes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
 
-    public CharacterRegistry(CharacterService characterService) {
+    public CharacterRegistry(CharacterService characterService,
+                             ForgeMetrics metrics,
+                             @Value("${rpgforge.registry.max-prototypes:256}") int capacity) {
         this.characterService = characterService;
+        this.metrics = metrics;
+        this.capacity = capacity;
+        this.prototypes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Character> eldest) {
+                if (size() > CharacterRegistry.this.capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el prototipo registrado para id, cargándolo del repositorio solo si no está en memoria.
+     * La instancia cacheada nunca sale del registro: los llamadores solo reciben copias vía clone().
+     */
+    private Character prototype(Long id) {
+        synchronized (prototypes) {
+            Character cached = prototypes.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        Character loaded = characterService.findById(id)
+                .orElseThrow(() -> new CharacterNotFoundException("Personaje no encontrado: " + id));
+        synchronized (prototypes) {
+            prototypes.putIfAbsent(id, loaded);
+        }
+        return loaded;
+    }
+
+    /** Si se guarda una nueva versión de un prototipo registrado, se descarta la copia en memoria. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Long id = event.character().getId();
+        synchronized (prototypes) {
+            if (prototypes.remove(id) != null) {
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public PrototypeCacheStats stats() {
+        int size;
+        synchronized (prototypes) {
+            size = prototypes.size();
+        }
+        return PrototypeCacheStats.of(size, capacity, hits.get(), misses.get(), evictions.get(), invalidations.get());
     }
 
     /**
      * ═══ PATRÓN PROTOTYPE ═══
-     * 1. Busca el personaje original por ID
+     * 1. Obtiene el prototipo del registro (o del repositorio si no está en memoria)
      * 2. Llama a original.clone()
      * 3. Aplica los cambios del patch (name obligatorio; clase, skills, equipment opcionales)
-     * 4. Persiste el clon y lo retorna
+     * 4. Persiste el clon (ver CharacterService.persist) y lo retorna
      */
-    @Transactional
     public Character cloneCharacter(Long id, CharacterPatchDTO patch) {
-        Character original = characterService.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Personaje no encontrado: " + id));
+        Character saved = metrics.timeClone(() -> {
+            Character original = requireCloneable(prototype(id));
 
-        Character clone = original.clone();
+            Character clone = original.clone();
+            clone.setName(patch.getName());
+            applyPatch(clone, patch.getCharacterClass(), patch.getSkills(), patch.getEquipment());
 
-        clone.setName(patch.getName());
+            return characterService.persist(clone);
+        });
+        metrics.clonesCreated(id, 1);
+        return saved;
+    }
 
-        if (patch.getCharacterClass() != null && !patch.getCharacterClass().isBlank()) {
-            clone.setCharacterClass(patch.getCharacterClass());
-        }
-        if (patch.getSkills() != null && !patch.getSkills().isEmpty()) {
-            clone.setSkills(String.join(", ", patch.getSkills()));
+    /**
+     * ═══ PATRÓN PROTOTYPE ═══ — clonación masiva
+     * Estampa request.count copias del mismo original con el mismo patch y las inserta en lotes
+     * dentro de una única transacción (ver CharacterService.saveAll).
+     */
+    @Transactional
+    public BulkCloneResult cloneMany(Long id, BulkCloneDTO request) {
+        long start = System.nanoTime();
+        Character original = requireCloneable(prototype(id));
+
+        List<Character> clones = new ArrayList<>(request.getCount());
+        for (int n = 1; n <= request.getCount(); n++) {
+            Character clone = original.clone();
+            clone.setName(request.nameFor(n));
+            applyPatch(clone, request.getCharacterClass(), request.getSkills(), request.getEquipment());
+            clones.add(clone);
         }
-        if (patch.getEquipment() != null && !patch.getEquipment().isEmpty()) {
-            clone.setEquipment(String.join(", ", patch.getEquipment()));
+        characterService.saveAll(clones);
+        metrics.clonesCreated(id, clones.size());
+
+        long elapsedNanos = System.nanoTime() - start;
+        return new BulkCloneResult(id, clones.size(),
+                clones.get(0).getId(), clones.get(clones.size() - 1).getId(),
+                elapsedNanos / 1_000_000,
+                clones.size() * 1_000_000_000.0 / Math.max(1, elapsedNanos));
+    }
+
+    private static Character requireCloneable(Character original) {
+        if (!original.canBeCloned()) {
+            throw new LineageTooDeepException(CharacterRules.LINEAGE_TOO_DEEP);
         }
+        return original;
+    }
 
-        return characterService.save(clone);
+    private void applyPatch(Character clone, String characterClass, List<String> skills, List<String> equipment) {
+        if (characterClass != null && !characterClass.isBlank()) {
+            clone.setCharacterClass(characterClass);
+        }
+        if (skills != null && !skills.isEmpty()) {
+            clone.setSkillsMask(CharacterCatalog.skillsMask(skills));
+        }
+        if (equipment != null && !equipment.isEmpty()) {
+            clone.setEquipmentMask(CharacterCatalog.equipmentMask(equipment));
+        }
     }
 }
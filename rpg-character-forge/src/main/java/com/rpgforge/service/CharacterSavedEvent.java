@@ -0,0 +1,10 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+
+/**
+ * Se publica cada vez que CharacterService persiste un personaje (wizard o clon).
+ * Los modelos de lectura en memoria lo escuchan tras el commit para mantenerse al día sin releer la tabla.
+ */
+public record CharacterSavedEvent(Character character) {
+}
@@ -0,0 +1,188 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.repository.CharacterRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria para la búsqueda por clase, raza, habilidades y equipamiento.
+ * Cada valor tiene su lista de apariciones como BitSet indexado por id, de modo que una consulta con varios
+ * criterios es la intersección (AND) de unos pocos BitSet en lugar de un recorrido de la tabla.
+ * Igual que CloneLineageReadModel, se reconstruye al arrancar y se mantiene con cada CharacterSavedEvent.
+ */
+@Component
+public class CharacterSearchIndex implements SmartInitializingSingleton {
+
+    /** Ids de una página de resultados, de mayor a menor, con los cursores (ids) para seguir en cada dirección. */
+    public record Hits(int total, List<Long> ids, Long nextCursor, Long prevCursor) {
+
+        static final Hits EMPTY = new Hits(0, List.of(), null, null);
+    }
+
+    private final CharacterRepository characterRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, BitSet> byClass = new HashMap<>();
+    private final Map<String, BitSet> byRace = new HashMap<>();
+    private final BitSet[] bySkill = newPostings(CharacterCatalog.SKILLS.size());
+    private final BitSet[] byEquipment = newPostings(CharacterCatalog.EQUIPMENT.size());
+
+    public CharacterSearchIndex(CharacterRepository characterRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.characterRepository = characterRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = characterRepository.streamSearchFields()) {
+                rows.forEach(row -> index((Long) row[0], (String) row[1], (String) row[2],
+                        (Integer) row[3], (Integer) row[4]));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Character character = event.character();
+        index(character.getId(), character.getRace(), character.getCharacterClass(),
+                character.getSkillsMask(), character.getEquipmentMask());
+    }
+
+    private void index(Long id, String race, String characterClass, int skillsMask, int equipmentMask) {
+        int bit = toBit(id);
+        lock.writeLock().lock();
+        try {
+            if (characterClass != null) {
+                byClass.computeIfAbsent(characterClass, k -> new BitSet()).set(bit);
+            }
+            if (race != null) {
+                byRace.computeIfAbsent(race, k -> new BitSet()).set(bit);
+            }
+            setBits(bySkill, skillsMask, bit);
+            setBits(byEquipment, equipmentMask, bit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los personajes que cumplen todos los criterios no nulos, ordenados por id descendente.
+     * No es exactamente el orden de la galería, que ordena por createdAt: createdAt se fija al construir el
+     * personaje y el id al guardarlo, así que con guardados concurrentes o en bloque los dos órdenes pueden diferir.
+     * Con {@code after} devuelve los ids menores que ese cursor, con {@code before} los mayores;
+     * sin ninguno, la primera página.
+     */
+    public Hits search(String characterClass, String race, int skillsMask, int equipmentMask,
+                       Long after, Long before, int limit) {
+        BitSet matches = intersect(characterClass, race, skillsMask, equipmentMask);
+        if (matches == null || matches.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        int total = matches.cardinality();
+
+        if (before != null) {
+            List<Long> ids = new ArrayList<>(limit + 1);
+            for (int bit = matches.nextSetBit(toBit(before) + 1); bit >= 0 && ids.size() <= limit;
+                 bit = matches.nextSetBit(bit + 1)) {
+                ids.add((long) bit);
+            }
+            if (ids.isEmpty()) {
+                return search(characterClass, race, skillsMask, equipmentMask, null, null, limit);
+            }
+            boolean hasPrev = ids.size() > limit;
+            List<Long> page = new ArrayList<>(hasPrev ? ids.subList(0, limit) : ids);
+            Collections.reverse(page);
+            return new Hits(total, page, page.get(page.size() - 1), hasPrev ? page.get(0) : null);
+        }
+
+        List<Long> ids = new ArrayList<>(limit + 1);
+        int from = after == null ? matches.length() - 1 : toBit(after) - 1;
+        for (int bit = from < 0 ? -1 : matches.previousSetBit(from); bit >= 0 && ids.size() <= limit;
+             bit = bit == 0 ? -1 : matches.previousSetBit(bit - 1)) {
+            ids.add((long) bit);
+        }
+        boolean hasNext = ids.size() > limit;
+        List<Long> page = hasNext ? ids.subList(0, limit) : ids;
+        return new Hits(total, page,
+                hasNext ? page.get(page.size() - 1) : null,
+                after != null && !page.isEmpty() ? page.get(0) : null);
+    }
+
+    /** Copia privada de la intersección de los criterios pedidos; null si alguno no tiene ninguna aparición. */
+    private BitSet intersect(String characterClass, String race, int skillsMask, int equipmentMask) {
+        List<BitSet> postings = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (characterClass != null && !characterClass.isBlank()) {
+                postings.add(byClass.get(characterClass.trim()));
+            }
+            if (race != null && !race.isBlank()) {
+                postings.add(byRace.get(race.trim()));
+            }
+            addPostings(postings, bySkill, skillsMask);
+            addPostings(postings, byEquipment, equipmentMask);
+            if (postings.isEmpty() || postings.contains(null)) {
+                return null;
+            }
+            // Se parte de la lista más corta: la copia y cada AND posterior cuestan lo que ella
+            postings.sort((a, b) -> Integer.compare(a.length(), b.length()));
+            BitSet result = (BitSet) postings.get(0).clone();
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.and(postings.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addPostings(List<BitSet> postings, BitSet[] byBit, int mask) {
+        for (int bit = 0; bit < byBit.length; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                postings.add(byBit[bit]);
+            }
+        }
+    }
+
+    private static void setBits(BitSet[] byBit, int mask, int id) {
+        for (int bit = 0; bit < byBit.length; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                byBit[bit].set(id);
+            }
+        }
+    }
+
+    private static BitSet[] newPostings(int size) {
+        BitSet[] postings = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            postings[i] = new BitSet();
+        }
+        return postings;
+    }
+
+    private static int toBit(Long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Id fuera del rango indexable: " + id);
+        }
+        return id.intValue();
+    }
+}
@@ -0,0 +1,101 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.CharacterCard;
+import com.rpgforge.dto.CharacterPage;
+import com.rpgforge.dto.CharacterSearchDTO;
+import com.rpgforge.dto.CharacterSearchResult;
+import com.rpgforge.dto.SimilarCharacter;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Búsqueda multicriterio: resuelve los ids con CharacterSearchIndex y carga solo la página pedida.
+ */
+@Service
+public class CharacterSearchService {
+
+    private final CharacterSearchIndex searchIndex;
+    private final SimilarityIndex similarityIndex;
+    private final CharacterService characterService;
+
+    public CharacterSearchService(CharacterSearchIndex searchIndex,
+                                  SimilarityIndex similarityIndex,
+                                  CharacterService characterService) {
+        this.searchIndex = searchIndex;
+        this.similarityIndex = similarityIndex;
+        this.characterService = characterService;
+    }
+
+    /**
+     * Los cursores son ids; uno inválido se ignora y devuelve la primera página, igual que en la galería.
+     * Lanza IllegalArgumentException si alguna habilidad o equipamiento no está en el catálogo.
+     */
+    public CharacterSearchResult<Character> search(CharacterSearchDTO criteria, String after, String before, int size) {
+        return search(criteria, after, before, size, characterService::findAllById);
+    }
+
+    /** Igual que search(), pero carga solo las tarjetas que pinta la galería. */
+    public CharacterSearchResult<CharacterCard> searchCards(CharacterSearchDTO criteria, String after, String before,
+                                                            int size) {
+        return search(criteria, after, before, size, characterService::findCardsById);
+    }
+
+    private <T> CharacterSearchResult<T> search(CharacterSearchDTO criteria, String after, String before, int size,
+                                                Function<List<Long>, List<T>> loader) {
+        int pageSize = Math.max(1, Math.min(CharacterService.MAX_PAGE_SIZE, size));
+        Long afterId = parseCursor(after);
+        Long beforeId = afterId == null ? parseCursor(before) : null;
+        CharacterSearchIndex.Hits hits = searchIndex.search(criteria.getCharacterClass(), criteria.getRace(),
+                criteria.skillsMask(), criteria.equipmentMask(), afterId, beforeId, pageSize);
+        CharacterPage<T> page = new CharacterPage<>(
+                loader.apply(hits.ids()),
+                hits.nextCursor() == null ? null : hits.nextCursor().toString(),
+                hits.prevCursor() == null ? null : hits.prevCursor().toString());
+        return new CharacterSearchResult<>(hits.total(), page);
+    }
+
+    /**
+     * Los k personajes con nivel y estadísticas más parecidos a los de id (sin contarlo a él), del más cercano
+     * al más lejano. Lanza CharacterNotFoundException si el personaje no existe.
+     */
+    public List<SimilarCharacter> findSimilar(Long id, int k) {
+        Character reference = characterService.findById(id)
+                .orElseThrow(() -> new CharacterNotFoundException("Personaje no encontrado: " + id));
+        List<SimilarityIndex.Neighbour> neighbours = similarityIndex.nearest(
+                SimilarityIndex.vectorOf(reference), Math.max(0, Math.min(CharacterService.MAX_PAGE_SIZE, k)), id);
+        List<Long> ids = new ArrayList<>(neighbours.size());
+        for (SimilarityIndex.Neighbour neighbour : neighbours) {
+            ids.add(neighbour.id());
+        }
+        Map<Long, CharacterCard> cards = new HashMap<>();
+        for (CharacterCard card : characterService.findCardsById(ids)) {
+            cards.put(card.id(), card);
+        }
+        List<SimilarCharacter> similar = new ArrayList<>(neighbours.size());
+        for (SimilarityIndex.Neighbour neighbour : neighbours) {
+            CharacterCard card = cards.get(neighbour.id());
+            if (card != null) {
+                similar.add(new SimilarCharacter(neighbour.distance(), card));
+            }
+        }
+        return similar;
+    }
+
+    private static Long parseCursor(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(value);
+            return id > 0 && id <= Integer.MAX_VALUE ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,37 +1,65 @@
 package com.rpgforge.service;
 
 import com.rpgforge.domain.Character;
+import com.rpgforge.dto.CharacterCard;
 import com.rpgforge.dto.CharacterFormDTO;
+import com.rpgforge.dto.CharacterPage;
+import com.rpgforge.dto.FamilyTree;
+import com.rpgforge.dto.GalleryCursor;
+import com.rpgforge.dto.LineageNode;
 import com.rpgforge.repository.CharacterRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class CharacterService {
 
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CharacterRepository characterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final ForgeMetrics metrics;
+    private final ObjectProvider<WriteBehindWriter> writeBehind;
 
-    public CharacterService(CharacterRepository characterRepository) {
+    public CharacterService(CharacterRepository characterRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            EntityManager entityManager,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                            ForgeMetrics metrics,
+                            ObjectProvider<WriteBehindWriter> writeBehind) {
         this.characterRepository = characterRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.metrics = metrics;
+        this.writeBehind = writeBehind;
     }
 
     /**
      * ═══ PATRÓN BUILDER ═══
      * Construye un Character a partir del DTO del formulario usando Character.Builder.
      */
-    @Transactional
     public Character buildFromForm(CharacterFormDTO form) {
-        String skillsStr = form.getSkills() != null && !form.getSkills().isEmpty()
-                ? String.join(", ", form.getSkills())
-                : "";
-        String equipmentStr = form.getEquipment() != null && !form.getEquipment().isEmpty()
-                ? String.join(", ", form.getEquipment())
-                : "";
+        return metrics.timeBuild(() -> buildAndSave(form));
+    }
 
+    private Character buildAndSave(CharacterFormDTO form) {
         Character character = new Character.Builder()
                 .name(form.getName())
                 .race(form.getRace())
@@ -42,23 +70,180 @@ public class CharacterService {
                 .intelligence(form.getIntelligence())
                 .vitality(form.getVitality())
                 .luck(form.getLuck())
-                .skills(skillsStr)
-                .equipment(equipmentStr)
+                .skills(form.getSkills())
+                .equipment(form.getEquipment())
                 .build();
 
-        return save(character);
+        return persist(character);
+    }
+
+    /**
+     * Guarda un personaje nuevo creado de uno en uno: por la cola de WriteBehindWriter si está activa
+     * (commit en grupo), o directamente. No abre transacción propia para no retener una conexión mientras
+     * se espera al grupo; en el modo directo repository.save() confirma la suya y los listeners
+     * (fallbackExecution) se ejecutan a continuación, igual que tras el commit.
+     */
+    public Character persist(Character character) {
+        WriteBehindWriter writer = writeBehind.getIfAvailable();
+        return writer != null ? writer.write(character) : save(character);
     }
 
     @Transactional
     public Character save(Character character) {
-        return characterRepository.save(character);
+        Character saved = characterRepository.save(character);
+        eventPublisher.publishEvent(new CharacterSavedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Inserta personajes nuevos en lotes JDBC: persist de cada uno y flush + clear cada batchSize filas,
+     * para que el contexto de persistencia no crezca con el número de filas.
+     */
+    @Transactional
+    public List<Character> saveAll(List<Character> characters) {
+        for (int i = 0; i < characters.size(); i++) {
+            Character character = characters.get(i);
+            entityManager.persist(character);
+            eventPublisher.publishEvent(new CharacterSavedEvent(character));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return characters;
     }
 
     public List<Character> findAll() {
-        return characterRepository.findAllByOrderByCreatedAtDesc();
+        return metrics.timeFindAll(characterRepository::findAllByOrderByCreatedAtDesc);
     }
 
     public Optional<Character> findById(Long id) {
         return characterRepository.findById(id);
     }
+
+    /** Carga los personajes indicados conservando el orden de ids recibido. */
+    @Transactional(readOnly = true)
+    public List<Character> findAllById(List<Long> ids) {
+        Map<Long, Character> byId = new HashMap<>();
+        for (Character character : characterRepository.findAllById(ids)) {
+            byId.put(character.getId(), character);
+        }
+        List<Character> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Character character = byId.get(id);
+            if (character != null) {
+                ordered.add(character);
+            }
+        }
+        return ordered;
+    }
+
+    /** Tarjetas de galería de los ids indicados, en el mismo orden. */
+    @Transactional(readOnly = true)
+    public List<CharacterCard> findCardsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CharacterCard> byId = new HashMap<>();
+        for (CharacterCard card : characterRepository.findCardsById(ids)) {
+            byId.put(card.id(), card);
+        }
+        List<CharacterCard> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CharacterCard card = byId.get(id);
+            if (card != null) {
+                ordered.add(card);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Familia completa de clones a la que pertenece id: la raíz más todos sus descendientes,
+     * resueltos con una sola consulta por prefijo sobre lineage_path.
+     */
+    @Transactional(readOnly = true)
+    public FamilyTree findFamily(Long id) {
+        Character character = characterRepository.findById(id)
+                .orElseThrow(() -> new CharacterNotFoundException("Personaje no encontrado: " + id));
+        Long rootId = character.getRootId();
+        Character root = rootId.equals(id) ? character : characterRepository.findById(rootId)
+                .orElseThrow(() -> new CharacterNotFoundException("Raíz no encontrada: " + rootId));
+
+        List<LineageNode> descendants = characterRepository.findDescendants(root.descendantPathPrefix());
+        List<LineageNode> nodes = new ArrayList<>(descendants.size() + 1);
+        nodes.add(new LineageNode(root.getId(), root.getName(), root.getCharacterClass(),
+                root.getClonedFromId(), root.getLineagePath()));
+        nodes.addAll(descendants);
+        int maxDepth = 0;
+        for (LineageNode node : nodes) {
+            maxDepth = Math.max(maxDepth, node.depth());
+        }
+        return new FamilyTree(root.getId(), nodes.size(), maxDepth, nodes);
+    }
+
+    /** Cadena de ancestros de id, de la raíz al padre directo, en una sola consulta por clave primaria. */
+    @Transactional(readOnly = true)
+    public List<LineageNode> findAncestors(Long id) {
+        Character character = characterRepository.findById(id)
+                .orElseThrow(() -> new CharacterNotFoundException("Personaje no encontrado: " + id));
+        List<Long> ancestorIds = character.getAncestorIds();
+        if (ancestorIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LineageNode> byId = new HashMap<>();
+        for (LineageNode node : characterRepository.findLineageNodes(ancestorIds)) {
+            byId.put(node.id(), node);
+        }
+        List<LineageNode> chain = new ArrayList<>(ancestorIds.size());
+        for (Long ancestorId : ancestorIds) {
+            LineageNode node = byId.get(ancestorId);
+            if (node != null) {
+                chain.add(node);
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Página de tarjetas de la galería ordenada por (createdAt, id) descendente usando paginación keyset.
+     * Con {@code after} avanza desde ese cursor, con {@code before} retrocede; sin ninguno devuelve la primera página.
+     * Se pide un elemento de más para saber si existe página siguiente sin hacer un COUNT.
+     */
+    @Transactional(readOnly = true)
+    public CharacterPage<CharacterCard> findPage(String after, String before, int size) {
+        return metrics.timeFindPage(() -> queryPage(after, before, size));
+    }
+
+    private CharacterPage<CharacterCard> queryPage(String after, String before, int size) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        GalleryCursor afterCursor = GalleryCursor.parse(after);
+        GalleryCursor beforeCursor = afterCursor == null ? GalleryCursor.parse(before) : null;
+
+        if (beforeCursor != null) {
+            List<CharacterCard> rows = characterRepository.findPageBefore(
+                    beforeCursor.createdAt(), beforeCursor.id(), limit);
+            boolean hasPrev = rows.size() > pageSize;
+            List<CharacterCard> items = new ArrayList<>(hasPrev ? rows.subList(0, pageSize) : rows);
+            Collections.reverse(items);
+            if (items.isEmpty()) {
+                return queryPage(null, null, pageSize);
+            }
+            return new CharacterPage<>(items,
+                    GalleryCursor.of(items.get(items.size() - 1)).encode(),
+                    hasPrev ? GalleryCursor.of(items.get(0)).encode() : null);
+        }
+
+        List<CharacterCard> rows = afterCursor == null
+                ? characterRepository.findFirstPage(limit)
+                : characterRepository.findPageAfter(afterCursor.createdAt(), afterCursor.id(), limit);
+        boolean hasNext = rows.size() > pageSize;
+        List<CharacterCard> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String next = hasNext ? GalleryCursor.of(items.get(items.size() - 1)).encode() : null;
+        String prev = afterCursor != null && !items.isEmpty() ? GalleryCursor.of(items.get(0)).encode() : null;
+        return new CharacterPage<>(items, next, prev);
+    }
 }
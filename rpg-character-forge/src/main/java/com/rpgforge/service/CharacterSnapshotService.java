@@ -0,0 +1,354 @@
+package com.rpgforge.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Instantánea binaria de la tabla characters para arranques en caliente.
+ * Se activa con rpgforge.snapshot.path: al arrancar DataInitializer restaura el fichero (si existe) en lugar
+ * de sembrar la base, y la tabla se vuelca de nuevo cada rpgforge.snapshot.interval si hubo cambios y al
+ * cerrar la aplicación.
+ *
+ * Formato (big-endian): cabecera [magic, versión, filas, id máximo] seguida de una fila por personaje en orden
+ * de id. race y character_class van como índices de un diccionario que se define en línea la primera vez que
+ * aparece cada valor; estadísticas en un byte; created_at (TIMESTAMP sin zona) en microsegundos, leyendo su
+ * fecha y hora tal cual como si fueran UTC a la ida y a la vuelta, sin pasar por la zona horaria de la JVM.
+ *
+ * Depende de entityManagerFactory para destruirse antes que ella: con ddl-auto=create-drop la tabla se borra
+ * al cerrar la factoría y la instantánea de cierre la encontraría vacía.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty("rpgforge.snapshot.path")
+public class CharacterSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CharacterSnapshotService.class);
+
+    private static final int MAGIC = 0x52504753; // "RPGS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+    private static final int NULL_REF = -1;
+    private static final int INSERT_BATCH = 1000;
+    // Única conversión entre created_at y microsegundos: la misma al escribir y al restaurar
+    private static final ZoneOffset TIMESTAMP_OFFSET = ZoneOffset.UTC;
+    /** Ventana máxima mapeada a la vez: un MappedByteBuffer no puede superar 2 GB. */
+    private static final long MAP_WINDOW = 1L << 30;
+    // Con el optimizador pooled, el siguiente valor de la secuencia es el límite superior del bloque reservado
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private static final String SELECT = "SELECT id, name, race, character_class, level, strength, agility, "
+            + "intelligence, vitality, luck, skills_mask, equipment_mask, cloned_from_id, lineage_path, created_at "
+            + "FROM characters ORDER BY id";
+    private static final String INSERT = "INSERT INTO characters (id, name, race, character_class, level, strength, "
+            + "agility, intelligence, vitality, luck, skills_mask, equipment_mask, cloned_from_id, lineage_path, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate snapshotTx;
+    private final Path path;
+
+    /** Cambios confirmados desde la última instantánea; si es 0 la instantánea periódica no hace nada. */
+    private final AtomicLong pendingChanges = new AtomicLong();
+
+    public CharacterSnapshotService(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${rpgforge.snapshot.path}") String path) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(INSERT_BATCH);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setReadOnly(true);
+        // Lectura consistente de toda la tabla aunque sigan entrando clones mientras se vuelca
+        this.snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.path = Path.of(path);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        pendingChanges.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${rpgforge.snapshot.interval:PT5M}",
+            initialDelayString = "${rpgforge.snapshot.interval:PT5M}")
+    public void snapshotIfChanged() {
+        if (pendingChanges.get() > 0) {
+            snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshotIfChanged();
+    }
+
+    /**
+     * Vuelca la tabla completa a un fichero temporal y lo mueve sobre la instantánea anterior,
+     * de modo que un fallo a mitad nunca deja una instantánea corrupta.
+     */
+    public synchronized long snapshot() {
+        long start = System.nanoTime();
+        long changesCovered = pendingChanges.get();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long[] counts;
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.write(new byte[HEADER_BYTES]);
+                counts = snapshotTx.execute(status -> writeRows(out));
+            }
+            try (RandomAccessFile header = new RandomAccessFile(tmp.toFile(), "rw")) {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(counts[0]);
+                header.writeLong(counts[1]);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            pendingChanges.addAndGet(-changesCovered);
+            log.info("Instantánea de {} personajes escrita en {} ({} bytes, {} ms)", counts[0], path,
+                    Files.size(path), (System.nanoTime() - start) / 1_000_000);
+            return counts[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea " + path, e);
+        }
+    }
+
+    /** Devuelve {filas, id máximo}. */
+    private long[] writeRows(DataOutputStream out) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        long[] counts = new long[2];
+        jdbcTemplate.query(SELECT, rs -> {
+            try {
+                long id = rs.getLong(1);
+                out.writeLong(id);
+                writeString(out, rs.getString(2));
+                writeRef(out, dictionary, rs.getString(3));
+                writeRef(out, dictionary, rs.getString(4));
+                for (int column = 5; column <= 10; column++) {
+                    out.writeByte(rs.getInt(column));
+                }
+                out.writeInt(rs.getInt(11));
+                out.writeInt(rs.getInt(12));
+                long clonedFromId = rs.getLong(13);
+                out.writeLong(rs.wasNull() ? NULL_REF : clonedFromId);
+                writeString(out, rs.getString(14));
+                LocalDateTime createdAt = rs.getObject(15, LocalDateTime.class);
+                out.writeLong(createdAt == null ? Long.MIN_VALUE : toMicros(createdAt));
+                counts[0]++;
+                counts[1] = Math.max(counts[1], id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Carga la instantánea en la tabla (vacía) con INSERT por lotes JDBC y reinicia la secuencia de ids.
+     * Devuelve false si no hay fichero, para que el llamador siembre la base como siempre.
+     */
+    public synchronized boolean restore() {
+        if (!Files.isRegularFile(path)) {
+            // Lo que siembre el llamador aún no está en ninguna instantánea
+            pendingChanges.incrementAndGet();
+            return false;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedReader in = new MappedReader(channel);
+            if (in.buffer.getInt() != MAGIC || in.buffer.getInt() != VERSION) {
+                throw new IllegalStateException("Instantánea con formato desconocido: " + path);
+            }
+            long rows = in.buffer.getLong();
+            long maxId = in.buffer.getLong();
+            writeTx.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                List<String> dictionary = new ArrayList<>();
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    for (long n = 1; n <= rows; n++) {
+                        in.readRow(dictionary, insert);
+                        insert.addBatch();
+                        if (n % INSERT_BATCH == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                return null;
+            }));
+            jdbcTemplate.execute("ALTER SEQUENCE characters_seq RESTART WITH " + (maxId + SEQUENCE_ALLOCATION + 1));
+            log.info("Restaurados {} personajes desde {} en {} ms", rows, path, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la instantánea " + path, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_REF);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** Índice en el diccionario; un índice nuevo va seguido de la cadena que define. */
+    private static void writeRef(DataOutputStream out, Map<String, Integer> dictionary, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_REF);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            out.writeInt(index);
+            return;
+        }
+        index = dictionary.size();
+        dictionary.put(value, index);
+        out.writeInt(index);
+        writeString(out, value);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(TIMESTAMP_OFFSET) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Lector sobre el fichero mapeado en memoria por ventanas de hasta MAP_WINDOW bytes.
+     * Si una fila queda cortada al final de la ventana, se vuelve a mapear empezando en esa fila.
+     */
+    private static final class MappedReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer buffer;
+
+        MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        private void map(long offset) throws IOException {
+            windowStart = offset;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAP_WINDOW, size - offset));
+        }
+
+        /** Decodifica la siguiente fila y la vincula a los parámetros de insert. */
+        void readRow(List<String> dictionary, PreparedStatement insert) throws SQLException {
+            long rowStart = windowStart + buffer.position();
+            int dictionarySize = dictionary.size();
+            try {
+                decodeRow(dictionary, insert);
+            } catch (BufferUnderflowException e) {
+                if (rowStart == windowStart || windowStart + buffer.limit() >= size) {
+                    throw new IllegalStateException("Instantánea truncada en el byte " + rowStart, e);
+                }
+                // Descarta las entradas de diccionario que la fila cortada hubiera llegado a definir
+                dictionary.subList(dictionarySize, dictionary.size()).clear();
+                try {
+                    map(rowStart);
+                } catch (IOException io) {
+                    throw new UncheckedIOException(io);
+                }
+                decodeRow(dictionary, insert);
+            }
+        }
+
+        private void decodeRow(List<String> dictionary, PreparedStatement insert) throws SQLException {
+            insert.setLong(1, buffer.getLong());
+            insert.setString(2, readString());
+            insert.setString(3, readRef(dictionary));
+            insert.setString(4, readRef(dictionary));
+            for (int column = 5; column <= 10; column++) {
+                insert.setInt(column, buffer.get());
+            }
+            insert.setInt(11, buffer.getInt());
+            insert.setInt(12, buffer.getInt());
+            long clonedFromId = buffer.getLong();
+            if (clonedFromId == NULL_REF) {
+                insert.setNull(13, Types.BIGINT);
+            } else {
+                insert.setLong(13, clonedFromId);
+            }
+            insert.setString(14, readString());
+            long createdAt = buffer.getLong();
+            if (createdAt == Long.MIN_VALUE) {
+                insert.setNull(15, Types.TIMESTAMP);
+            } else {
+                insert.setObject(15, fromMicros(createdAt));
+            }
+        }
+
+        private String readString() {
+            int length = buffer.getInt();
+            if (length == NULL_REF) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private String readRef(List<String> dictionary) {
+            int index = buffer.getInt();
+            if (index == NULL_REF) {
+                return null;
+            }
+            if (index == dictionary.size()) {
+                dictionary.add(readString());
+            }
+            return dictionary.get(index);
+        }
+    }
+}
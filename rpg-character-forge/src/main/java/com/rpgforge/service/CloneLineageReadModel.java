@@ -0,0 +1,82 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.repository.CharacterRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Modelo de lectura del linaje de clones (original → clones, id → nombre) que usa la galería.
+ * Se reconstruye desde el repositorio al arrancar y luego se actualiza con cada CharacterSavedEvent
+ * una vez confirmada la transacción, de modo que las consultas son O(1) sin recorrer la tabla.
+ * Todas las estructuras son concurrentes y las actualizaciones idempotentes, así que clones simultáneos
+ * (o un evento que llegue durante la reconstrucción) no dejan el modelo inconsistente.
+ */
+@Component
+public class CloneLineageReadModel implements SmartInitializingSingleton {
+
+    private final CharacterRepository characterRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> clonesByOriginalId = new ConcurrentHashMap<>();
+
+    public CloneLineageReadModel(CharacterRepository characterRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.characterRepository = characterRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Se ejecuta cuando todos los singletons están creados (DataInitializer ya sembró la base)
+     * y antes de que el servidor web acepte peticiones.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = characterRepository.streamLineage()) {
+                rows.forEach(row -> register((Long) row[0], (String) row[1], (Long) row[2]));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Character character = event.character();
+        register(character.getId(), character.getName(), character.getClonedFromId());
+    }
+
+    private void register(Long id, String name, Long clonedFromId) {
+        names.put(id, name);
+        if (clonedFromId != null) {
+            clonesByOriginalId.computeIfAbsent(clonedFromId, k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    public String nameOf(Long id) {
+        return id == null ? null : names.get(id);
+    }
+
+    /** Id del primer clon (el más antiguo) del original, o null si no tiene clones. */
+    public Long firstCloneId(Long originalId) {
+        NavigableSet<Long> clones = clonesByOriginalId.get(originalId);
+        return clones == null || clones.isEmpty() ? null : clones.first();
+    }
+
+    /** Ids de los clones directos del original, en orden de creación. */
+    public List<Long> cloneIdsOf(Long originalId) {
+        NavigableSet<Long> clones = clonesByOriginalId.get(originalId);
+        return clones == null ? List.of() : List.copyOf(clones);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rpgforge.service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos de exportación / importación de personajes. Ambos comparten las mismas columnas;
+ * habilidades y equipamiento van como nombres del catálogo separados por '|'.
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "name", "race", "characterClass", "level",
+            "strength", "agility", "intelligence", "vitality", "luck",
+            "skills", "equipment", "clonedFromId", "createdAt");
+
+    public static final String LIST_SEPARATOR = "|";
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato no soportado: " + value + " (ndjson o csv)");
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rpgforge.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Medidores de negocio de la forja publicados en Micrometer (expuestos en /actuator/prometheus).
+ * Los percentiles p50/p99 y los buckets de histograma se activan para el prefijo "rpgforge"
+ * en application.properties, no aquí.
+ */
+@Component
+public class ForgeMetrics {
+
+    /** Número máximo de prototipos distintos con serie propia en rpgforge.clones (ver MetricsConfig). */
+    public static final int MAX_PROTOTYPE_TAGS = 100;
+
+    private final MeterRegistry registry;
+    private final Timer buildTimer;
+    private final Timer cloneTimer;
+    private final Timer findPageTimer;
+    private final Timer findAllTimer;
+    private final DistributionSummary galleryRows;
+
+    public ForgeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.buildTimer = Timer.builder("rpgforge.builder.build")
+                .description("Construcción con Character.Builder y guardado desde el wizard")
+                .register(registry);
+        this.cloneTimer = Timer.builder("rpgforge.prototype.clone")
+                .description("Clonación de un prototipo con patch y guardado del clon")
+                .register(registry);
+        this.findPageTimer = Timer.builder("rpgforge.gallery.query")
+                .tag("query", "findPage")
+                .description("Consulta de una página de la galería")
+                .register(registry);
+        this.findAllTimer = Timer.builder("rpgforge.gallery.query")
+                .tag("query", "findAll")
+                .description("Consulta de la tabla completa de personajes")
+                .register(registry);
+        this.galleryRows = DistributionSummary.builder("rpgforge.gallery.rows")
+                .description("Personajes devueltos por cada vista de la galería")
+                .baseUnit("rows")
+                .register(registry);
+    }
+
+    public <T> T timeBuild(Supplier<T> action) {
+        return buildTimer.record(action);
+    }
+
+    public <T> T timeClone(Supplier<T> action) {
+        return cloneTimer.record(action);
+    }
+
+    public <T> T timeFindPage(Supplier<T> action) {
+        return findPageTimer.record(action);
+    }
+
+    public <T> T timeFindAll(Supplier<T> action) {
+        return findAllTimer.record(action);
+    }
+
+    /** Cuenta count clones creados a partir del prototipo prototypeId. */
+    public void clonesCreated(Long prototypeId, int count) {
+        registry.counter("rpgforge.clones", "prototype", String.valueOf(prototypeId)).increment(count);
+    }
+
+    public void galleryRows(int rows) {
+        galleryRows.record(rows);
+    }
+
+    /**
+     * Cuenta un paso del wizard enviado correctamente; step="4" equivale a un personaje creado.
+     * El abandono en cada paso es la diferencia entre pasos consecutivos (step="1" menos step="2", ...).
+     */
+    public void wizardStep(int step) {
+        registry.counter("rpgforge.wizard.steps", "step", String.valueOf(step)).increment();
+    }
+}
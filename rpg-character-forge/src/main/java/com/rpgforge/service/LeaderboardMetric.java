@@ -0,0 +1,49 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+
+/**
+ * Puntuaciones por las que se ordenan las clasificaciones.
+ */
+public enum LeaderboardMetric {
+
+    LEVEL("level") {
+        @Override
+        public int score(int level, int strength, int agility, int intelligence, int vitality, int luck) {
+            return level;
+        }
+    },
+    TOTAL_STATS("total-stats") {
+        @Override
+        public int score(int level, int strength, int agility, int intelligence, int vitality, int luck) {
+            return strength + agility + intelligence + vitality + luck;
+        }
+    };
+
+    private final String slug;
+
+    LeaderboardMetric(String slug) {
+        this.slug = slug;
+    }
+
+    public abstract int score(int level, int strength, int agility, int intelligence, int vitality, int luck);
+
+    public int score(Character character) {
+        return score(character.getLevel(), character.getStrength(), character.getAgility(),
+                character.getIntelligence(), character.getVitality(), character.getLuck());
+    }
+
+    /** Nombre en la URL: "level", "total-stats". */
+    public String getSlug() {
+        return slug;
+    }
+
+    public static LeaderboardMetric fromSlug(String slug) {
+        for (LeaderboardMetric metric : values()) {
+            if (metric.slug.equalsIgnoreCase(slug)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Clasificación desconocida: " + slug + " (usar level o total-stats)");
+    }
+}
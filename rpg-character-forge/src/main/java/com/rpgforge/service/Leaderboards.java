@@ -0,0 +1,143 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.dto.LeaderboardEntry;
+import com.rpgforge.repository.CharacterRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Clasificaciones top-K (global y por clase) para cada LeaderboardMetric, mantenidas en memoria.
+ * Cada tabla es un TreeSet acotado a K entradas: insertar cuesta O(log K) y leer la tabla O(K), sin ordenar
+ * nunca la tabla completa. Se reconstruyen al arrancar y se actualizan con cada CharacterSavedEvent.
+ * Los personajes no se modifican una vez guardados (clonar crea filas nuevas), así que solo hay inserciones:
+ * basta con que una tabla recuerde sus K mejores.
+ */
+@Component
+public class Leaderboards implements SmartInitializingSingleton {
+
+    /** A igual puntuación gana el personaje creado antes (id menor). */
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::score).reversed()
+            .thenComparing(Ranked::id);
+
+    private record Ranked(Long id, String name, String characterClass, int score) {
+    }
+
+    /** TreeSet acotado; el monitor del propio objeto protege lecturas y escrituras. */
+    private static final class Board {
+
+        private final TreeSet<Ranked> entries = new TreeSet<>(RANKING);
+        private final int capacity;
+
+        Board(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("rpgforge.leaderboard.size debe ser positivo: " + capacity);
+            }
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Ranked candidate) {
+            if (entries.size() == capacity && RANKING.compare(candidate, entries.last()) >= 0) {
+                return;
+            }
+            entries.add(candidate);
+            if (entries.size() > capacity) {
+                entries.pollLast();
+            }
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, entries.size()));
+            for (Ranked entry : entries) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(new LeaderboardEntry(result.size() + 1, entry.id(), entry.name(),
+                        entry.characterClass(), entry.score()));
+            }
+            return result;
+        }
+    }
+
+    private final CharacterRepository characterRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int capacity;
+
+    private final Map<LeaderboardMetric, Board> global = new EnumMap<>(LeaderboardMetric.class);
+    private final Map<LeaderboardMetric, Map<String, Board>> byClass = new EnumMap<>(LeaderboardMetric.class);
+
+    public Leaderboards(CharacterRepository characterRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${rpgforge.leaderboard.size:100}") int capacity) {
+        this.characterRepository = characterRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.capacity = capacity;
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            global.put(metric, new Board(capacity));
+            byClass.put(metric, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = characterRepository.streamLeaderboardFields()) {
+                rows.forEach(row -> record((Long) row[0], (String) row[1], (String) row[2],
+                        (Integer) row[3], (Integer) row[4], (Integer) row[5],
+                        (Integer) row[6], (Integer) row[7], (Integer) row[8]));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Character c = event.character();
+        record(c.getId(), c.getName(), c.getCharacterClass(), c.getLevel(), c.getStrength(), c.getAgility(),
+                c.getIntelligence(), c.getVitality(), c.getLuck());
+    }
+
+    private void record(Long id, String name, String characterClass, int level, int strength, int agility,
+                        int intelligence, int vitality, int luck) {
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            Ranked entry = new Ranked(id, name, characterClass,
+                    metric.score(level, strength, agility, intelligence, vitality, luck));
+            global.get(metric).offer(entry);
+            if (characterClass != null) {
+                byClass.get(metric).computeIfAbsent(characterClass, k -> new Board(capacity)).offer(entry);
+            }
+        }
+    }
+
+    /** Los limit primeros de la clasificación global, o de la clase indicada si no es null. */
+    public List<LeaderboardEntry> top(LeaderboardMetric metric, String characterClass, int limit) {
+        int k = Math.max(0, Math.min(capacity, limit));
+        if (characterClass == null || characterClass.isBlank()) {
+            return global.get(metric).top(k);
+        }
+        Board board = byClass.get(metric).get(characterClass.trim());
+        return board == null ? List.of() : board.top(k);
+    }
+
+    /** Primeros de cada clase, para la vista "top por clase". */
+    public Map<String, List<LeaderboardEntry>> topPerClass(LeaderboardMetric metric, int limit) {
+        int k = Math.max(0, Math.min(capacity, limit));
+        Map<String, List<LeaderboardEntry>> result = new TreeMap<>();
+        byClass.get(metric).forEach((characterClass, board) -> result.put(characterClass, board.top(k)));
+        return result;
+    }
+}
@@ -0,0 +1,12 @@
+package com.rpgforge.service;
+
+/**
+ * El original ya está en la última generación que cabe en lineage_path (ver Character.LINEAGE_PATH_MAX_LENGTH).
+ * Es un error del cliente: la API responde 400 y el formulario de clonación lo muestra como mensaje.
+ */
+public class LineageTooDeepException extends IllegalArgumentException {
+
+    public LineageTooDeepException(String message) {
+        super(message);
+    }
+}
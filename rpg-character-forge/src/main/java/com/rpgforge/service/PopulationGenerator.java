@@ -0,0 +1,324 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.CharacterCatalog;
+import com.rpgforge.domain.Stat;
+import com.rpgforge.dto.GenerationReport;
+import com.rpgforge.repository.CharacterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ═══ PATRÓN BUILDER + PROTOTYPE ═══ — población sintética para pruebas de carga y escala
+ * Genera N personajes deterministas a partir de una semilla: originales con Character.Builder y familias de
+ * clones con Character.clone(). Se activa con rpgforge.generator.count al arrancar (si la tabla aún no tiene
+ * esas filas) o llamando a generate().
+ *
+ * Las N filas se reparten en bloques de CHUNK_ROWS que un ForkJoinPool propio reparte entre los núcleos; cada
+ * división de la tarea parte también el SplittableRandom, así que el contenido de cada bloque depende solo de la
+ * semilla y no del número de hilos (los ids sí, porque los bloques se insertan en el orden en que terminan).
+ * Cada bloque persiste por generaciones con CharacterService.saveAll: primero los originales y después cada
+ * nivel de clones, que necesita los ids de sus padres.
+ *
+ * Distribuciones: clase y raza con pesos fijos, nivel sesgado hacia valores bajos, estadísticas alrededor de
+ * una media que crece con el nivel y es mayor en las principales de la clase, y habilidades y equipamiento
+ * elegidos sobre todo entre los afines a la clase. Cada original tiene entre 0 y 2·family-fanout clones por
+ * generación, hasta family-depth generaciones; cada clon cambia el nombre y a veces la clase, las habilidades
+ * o el equipamiento, como en el modal de clonación.
+ */
+@Service
+public class PopulationGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(PopulationGenerator.class);
+
+    private static final int CHUNK_ROWS = 10_000;
+
+    private static final List<String> RACES = List.of("Humano", "Elfo", "Enano", "Orco", "Mediano");
+    private static final int[] RACE_WEIGHTS = {40, 20, 15, 15, 10};
+    // Índice = número de habilidades (0..4) o de items de equipamiento (0..3)
+    private static final int[] SKILL_COUNT_WEIGHTS = {0, 20, 35, 30, 15};
+    private static final int[] EQUIPMENT_COUNT_WEIGHTS = {10, 30, 35, 25};
+    private static final int AFFINITY_PERCENT = 70;
+
+    private static final List<String> NAME_STARTS = List.of(
+            "Ar", "Bel", "Cor", "Dra", "El", "Fen", "Gor", "Hal", "Ith", "Kor",
+            "Lys", "Mor", "Nym", "Or", "Ryn", "Syl", "Tor", "Ul", "Vor", "Zan");
+    private static final List<String> NAME_ENDS = List.of(
+            "ak", "and", "eth", "ion", "ira", "mir", "or", "ra", "thas", "us");
+    private static final List<String> EPITHETS = List.of(
+            "el Rojo", "la Sombra", "el Sabio", "de Hierro", "el Errante", "la Veloz", "el Viejo", "sin Nombre");
+
+    private enum Archetype {
+        GUERRERO("Guerrero", 30, EnumSet.of(Stat.STRENGTH, Stat.VITALITY),
+                List.of("Golpe brutal", "Furia berserker", "Escudo divino"),
+                List.of("Espada larga", "Armadura de placas", "Escudo de roble")),
+        MAGO("Mago", 25, EnumSet.of(Stat.INTELLIGENCE),
+                List.of("Rayo de hielo", "Teletransporte", "Invocar familiar", "Curación"),
+                List.of("Bastón mágico", "Capa de invisibilidad")),
+        ARQUERO("Arquero", 20, EnumSet.of(Stat.AGILITY),
+                List.of("Flecha de fuego", "Veneno letal", "Invisibilidad"),
+                List.of("Arco élfico", "Botas veloces", "Daga envenenada")),
+        PALADIN("Paladín", 15, EnumSet.of(Stat.STRENGTH, Stat.VITALITY, Stat.INTELLIGENCE),
+                List.of("Escudo divino", "Curación", "Golpe brutal"),
+                List.of("Espada larga", "Armadura de placas", "Escudo de roble")),
+        ASESINO("Asesino", 10, EnumSet.of(Stat.AGILITY, Stat.LUCK),
+                List.of("Veneno letal", "Invisibilidad", "Teletransporte"),
+                List.of("Daga envenenada", "Capa de invisibilidad", "Botas veloces"));
+
+        private static final Archetype[] ALL = values();
+        private static final int[] WEIGHTS = Arrays.stream(ALL).mapToInt(a -> a.weight).toArray();
+
+        final String characterClass;
+        final int weight;
+        final Set<Stat> primary;
+        final int[] skillBits;
+        final int[] equipmentBits;
+
+        Archetype(String characterClass, int weight, Set<Stat> primary, List<String> skills, List<String> equipment) {
+            this.characterClass = characterClass;
+            this.weight = weight;
+            this.primary = primary;
+            this.skillBits = skills.stream().mapToInt(CharacterCatalog::skillBit).toArray();
+            this.equipmentBits = equipment.stream().mapToInt(CharacterCatalog::equipmentBit).toArray();
+        }
+    }
+
+    private final CharacterService characterService;
+    private final CharacterRepository characterRepository;
+    private final long startupCount;
+    private final long startupSeed;
+    private final int familyFanout;
+    private final int familyDepth;
+    private final int parallelism;
+
+    public PopulationGenerator(CharacterService characterService,
+                               CharacterRepository characterRepository,
+                               @Value("${rpgforge.generator.count:0}") long startupCount,
+                               @Value("${rpgforge.generator.seed:42}") long startupSeed,
+                               @Value("${rpgforge.generator.family-fanout:1}") int familyFanout,
+                               @Value("${rpgforge.generator.family-depth:2}") int familyDepth,
+                               @Value("${rpgforge.generator.parallelism:0}") int parallelism) {
+        this.characterService = characterService;
+        this.characterRepository = characterRepository;
+        this.startupCount = startupCount;
+        this.startupSeed = startupSeed;
+        this.familyFanout = familyFanout;
+        this.familyDepth = familyDepth;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Con la aplicación ya en marcha, para que los modelos de lectura sigan los CharacterSavedEvent. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void populateOnStartup() {
+        if (startupCount <= 0 || characterRepository.count() >= startupCount) {
+            return;
+        }
+        GenerationReport report = generate(startupCount, startupSeed);
+        log.info("Población sintética: {} personajes ({} originales, {} clones) en {} ms, {} filas/s",
+                report.generated(), report.originals(), report.clones(), report.elapsedMillis(),
+                Math.round(report.rowsPerSecond()));
+    }
+
+    /** Genera y persiste count personajes; la misma semilla produce siempre el mismo contenido. */
+    public GenerationReport generate(long count, long seed) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count debe ser positivo: " + count);
+        }
+        long start = System.nanoTime();
+        long chunks = (count + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long[] totals;
+        try {
+            totals = pool.invoke(new GenerateTask(count, 0, chunks, new SplittableRandom(seed), new AtomicLong()));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new GenerationReport(seed, totals[0] + totals[1], totals[0], totals[1],
+                elapsedNanos / 1_000_000, count * 1_000_000_000.0 / Math.max(1, elapsedNanos));
+    }
+
+    /** Bloques [firstChunk, firstChunk + chunks); devuelve {originales, clones}. */
+    private final class GenerateTask extends RecursiveTask<long[]> {
+        private final long count;
+        private final long firstChunk;
+        private final long chunks;
+        private final SplittableRandom random;
+        private final AtomicLong done;
+
+        GenerateTask(long count, long firstChunk, long chunks, SplittableRandom random, AtomicLong done) {
+            this.count = count;
+            this.firstChunk = firstChunk;
+            this.chunks = chunks;
+            this.random = random;
+            this.done = done;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (chunks == 1) {
+                int rows = (int) Math.min(CHUNK_ROWS, count - firstChunk * CHUNK_ROWS);
+                long[] totals = generateChunk(random, rows);
+                logProgress(done.addAndGet(rows), count, rows);
+                return totals;
+            }
+            long half = chunks / 2;
+            GenerateTask left = new GenerateTask(count, firstChunk, half, random.split(), done);
+            GenerateTask right = new GenerateTask(count, firstChunk + half, chunks - half, random, done);
+            left.fork();
+            long[] totals = right.compute();
+            long[] leftTotals = left.join();
+            return new long[]{totals[0] + leftTotals[0], totals[1] + leftTotals[1]};
+        }
+    }
+
+    private long[] generateChunk(SplittableRandom random, int rows) {
+        double familySize = 0;
+        for (int depth = 0; depth <= familyDepth; depth++) {
+            familySize += Math.pow(familyFanout, depth);
+        }
+        long originals = 0;
+        long clones = 0;
+        int remaining = rows;
+        // Varias rondas si las familias salen más pequeñas que la media y no llenan el bloque
+        while (remaining > 0) {
+            int roots = (int) Math.min(remaining, Math.ceil(remaining / familySize));
+            List<Character> generation = new ArrayList<>(roots);
+            for (int i = 0; i < roots; i++) {
+                generation.add(original(random));
+            }
+            characterService.saveAll(generation);
+            originals += roots;
+            remaining -= roots;
+            for (int depth = 1; depth <= familyDepth && remaining > 0; depth++) {
+                List<Character> next = new ArrayList<>();
+                for (Character parent : generation) {
+                    int children = random.nextInt(2 * familyFanout + 1);
+                    for (int c = 0; c < children && next.size() < remaining; c++) {
+                        next.add(cloneOf(random, parent));
+                    }
+                }
+                if (next.isEmpty()) {
+                    break;
+                }
+                characterService.saveAll(next);
+                clones += next.size();
+                remaining -= next.size();
+                generation = next;
+            }
+        }
+        return new long[]{originals, clones};
+    }
+
+    private static Character original(SplittableRandom random) {
+        Archetype archetype = Archetype.ALL[pick(random, Archetype.WEIGHTS)];
+        int level = 1 + (int) (99 * Math.pow(random.nextDouble(), 2));
+        return new Character.Builder()
+                .name(name(random))
+                .race(RACES.get(pick(random, RACE_WEIGHTS)))
+                .characterClass(archetype.characterClass)
+                .level(level)
+                .strength(stat(random, archetype, Stat.STRENGTH, level))
+                .agility(stat(random, archetype, Stat.AGILITY, level))
+                .intelligence(stat(random, archetype, Stat.INTELLIGENCE, level))
+                .vitality(stat(random, archetype, Stat.VITALITY, level))
+                .luck(stat(random, archetype, Stat.LUCK, level))
+                .skillsMask(skillsMask(random, archetype))
+                .equipmentMask(equipmentMask(random, archetype))
+                .build();
+    }
+
+    private static Character cloneOf(SplittableRandom random, Character parent) {
+        Character clone = parent.clone();
+        clone.setName(name(random));
+        Archetype archetype = archetypeOf(parent.getCharacterClass());
+        if (random.nextInt(5) == 0) {
+            archetype = Archetype.ALL[pick(random, Archetype.WEIGHTS)];
+            clone.setCharacterClass(archetype.characterClass);
+        }
+        if (random.nextInt(10) < 3) {
+            clone.setSkillsMask(skillsMask(random, archetype));
+        }
+        if (random.nextInt(4) == 0) {
+            clone.setEquipmentMask(equipmentMask(random, archetype));
+        }
+        return clone;
+    }
+
+    private static Archetype archetypeOf(String characterClass) {
+        for (Archetype archetype : Archetype.ALL) {
+            if (archetype.characterClass.equals(characterClass)) {
+                return archetype;
+            }
+        }
+        return Archetype.GUERRERO;
+    }
+
+    /** Media 20 (45 en las principales de la clase) más 0,35 por nivel, con desviación 10; el Builder la acota. */
+    private static int stat(SplittableRandom random, Archetype archetype, Stat stat, int level) {
+        double mean = (archetype.primary.contains(stat) ? 45 : 20) + level * 0.35;
+        return (int) Math.round(mean + random.nextGaussian() * 10);
+    }
+
+    private static int skillsMask(SplittableRandom random, Archetype archetype) {
+        return mask(random, pick(random, SKILL_COUNT_WEIGHTS), archetype.skillBits, CharacterCatalog.SKILLS.size());
+    }
+
+    private static int equipmentMask(SplittableRandom random, Archetype archetype) {
+        return mask(random, pick(random, EQUIPMENT_COUNT_WEIGHTS), archetype.equipmentBits,
+                CharacterCatalog.EQUIPMENT.size());
+    }
+
+    /** count bits distintos, cada uno afín a la clase con probabilidad AFFINITY_PERCENT o al azar del catálogo. */
+    private static int mask(SplittableRandom random, int count, int[] affine, int catalogSize) {
+        int mask = 0;
+        while (Integer.bitCount(mask) < count) {
+            int bit = random.nextInt(100) < AFFINITY_PERCENT
+                    ? affine[random.nextInt(affine.length)]
+                    : random.nextInt(catalogSize);
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    private static String name(SplittableRandom random) {
+        String name = NAME_STARTS.get(random.nextInt(NAME_STARTS.size())) + NAME_ENDS.get(random.nextInt(NAME_ENDS.size()));
+        return random.nextInt(10) < 3 ? name + " " + EPITHETS.get(random.nextInt(EPITHETS.size())) : name;
+    }
+
+    private static int pick(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static void logProgress(long done, long count, int rows) {
+        long step = Math.max(count / 10, CHUNK_ROWS);
+        if ((done - rows) / step != done / step || done == count) {
+            log.info("Población sintética: {} / {} personajes", done, count);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.Stat;
+import com.rpgforge.repository.CharacterRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice espacial (k-d tree) sobre el vector de atributos de cada personaje (nivel y las cinco estadísticas,
+ * en el orden de Stat) para responder "los k personajes más parecidos" por distancia euclídea.
+ *
+ * El árbol es inmutable y está implícito en dos arrays: cada rango [lo, hi) tiene su nodo en el punto medio,
+ * con los menores o iguales en la coordenada de corte a la izquierda y los mayores o iguales a la derecha.
+ * Los personajes nuevos van a un búfer que se recorre entero en cada consulta; al llegar a REBUILD_THRESHOLD
+ * un hilo aparte reconstruye el árbol con ellos y las consultas siguen usando el árbol anterior mientras tanto.
+ * Igual que los demás modelos de lectura, se construye al arrancar y se mantiene con cada CharacterSavedEvent.
+ */
+@Component
+public class SimilarityIndex implements SmartInitializingSingleton {
+
+    static final int DIMS = Stat.values().length;
+    static final int REBUILD_THRESHOLD = 8192;
+
+    /** Vecino encontrado: id y distancia euclídea al cuadrado. */
+    public record Neighbour(long id, int squaredDistance) {
+
+        public double distance() {
+            return Math.sqrt(squaredDistance);
+        }
+    }
+
+    private final CharacterRepository characterRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private KdTree tree = KdTree.build(new long[0], new byte[0], 0);
+    private long[] bufferIds = new long[1024];
+    private byte[] bufferPoints = new byte[1024 * DIMS];
+    private int bufferSize;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similarity-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimilarityIndex(CharacterRepository characterRepository, PlatformTransactionManager transactionManager) {
+        this.characterRepository = characterRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = characterRepository.streamStats()) {
+                byte[] point = new byte[DIMS];
+                rows.forEach(row -> {
+                    for (int d = 0; d < DIMS; d++) {
+                        point[d] = ((Integer) row[2 + d]).byteValue();
+                    }
+                    append((Long) row[0], point);
+                });
+            }
+        });
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Character character = event.character();
+        int pending = append(character.getId(), vectorOf(character));
+        if (pending >= REBUILD_THRESHOLD && rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /** Vector de atributos en el orden de Stat. */
+    public static byte[] vectorOf(Character character) {
+        byte[] point = new byte[DIMS];
+        for (Stat stat : Stat.values()) {
+            point[stat.ordinal()] = (byte) stat.valueOf(character);
+        }
+        return point;
+    }
+
+    /**
+     * Los k personajes más cercanos a query, del más cercano al más lejano (a igual distancia, id menor primero).
+     * excludeId (puede ser null) se omite, para no devolver al propio personaje de referencia.
+     */
+    public List<Neighbour> nearest(byte[] query, int k, Long excludeId) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Neighbours best = new Neighbours(k, excludeId == null ? Long.MIN_VALUE : excludeId);
+        lock.readLock().lock();
+        try {
+            tree.search(query, best);
+            for (int i = 0; i < bufferSize; i++) {
+                best.offer(bufferIds[i], squaredDistance(query, bufferPoints, i));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return best.sorted();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size + bufferSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Añade el punto al búfer y devuelve cuántos hay pendientes de entrar en el árbol. */
+    private int append(Long id, byte[] point) {
+        lock.writeLock().lock();
+        try {
+            if (bufferSize == bufferIds.length) {
+                bufferIds = Arrays.copyOf(bufferIds, bufferSize * 2);
+                bufferPoints = Arrays.copyOf(bufferPoints, bufferSize * 2 * DIMS);
+            }
+            bufferIds[bufferSize] = id;
+            System.arraycopy(point, 0, bufferPoints, bufferSize * DIMS, DIMS);
+            return ++bufferSize;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Construye un árbol nuevo con el actual más los pendientes del búfer sin bloquear las consultas,
+     * y lo publica quitando del búfer solo los que ha incluido (pueden haber llegado más mientras tanto).
+     */
+    private synchronized void rebuild() {
+        long[] ids;
+        byte[] points;
+        int merged;
+        lock.readLock().lock();
+        try {
+            merged = bufferSize;
+            int n = tree.size + merged;
+            ids = Arrays.copyOf(tree.ids, n);
+            points = Arrays.copyOf(tree.points, n * DIMS);
+            System.arraycopy(bufferIds, 0, ids, tree.size, merged);
+            System.arraycopy(bufferPoints, 0, points, tree.size * DIMS, merged * DIMS);
+        } finally {
+            lock.readLock().unlock();
+        }
+        KdTree rebuilt = KdTree.build(ids, points, ids.length);
+        lock.writeLock().lock();
+        try {
+            tree = rebuilt;
+            int remaining = bufferSize - merged;
+            // Tras la carga inicial el búfer ha tenido toda la tabla: se devuelve esa memoria
+            int capacity = bufferIds.length > 4 * REBUILD_THRESHOLD
+                    ? Math.max(2 * REBUILD_THRESHOLD, 2 * remaining) : bufferIds.length;
+            long[] pendingIds = capacity == bufferIds.length ? bufferIds : new long[capacity];
+            byte[] pendingPoints = capacity == bufferIds.length ? bufferPoints : new byte[capacity * DIMS];
+            System.arraycopy(bufferIds, merged, pendingIds, 0, remaining);
+            System.arraycopy(bufferPoints, merged * DIMS, pendingPoints, 0, remaining * DIMS);
+            bufferIds = pendingIds;
+            bufferPoints = pendingPoints;
+            bufferSize = remaining;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int squaredDistance(byte[] query, byte[] points, int index) {
+        int sum = 0;
+        int base = index * DIMS;
+        for (int d = 0; d < DIMS; d++) {
+            int diff = query[d] - points[base + d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    /** k-d tree implícito: ids y points reordenados en su sitio; la coordenada de corte es depth % DIMS. */
+    private static final class KdTree {
+
+        final long[] ids;
+        final byte[] points;
+        final int size;
+
+        private KdTree(long[] ids, byte[] points, int size) {
+            this.ids = ids;
+            this.points = points;
+            this.size = size;
+        }
+
+        static KdTree build(long[] ids, byte[] points, int size) {
+            KdTree tree = new KdTree(ids, points, size);
+            tree.split(0, size, 0);
+            return tree;
+        }
+
+        private void split(int lo, int hi, int depth) {
+            if (hi - lo < 2) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            partitionAroundMedian(lo, hi, mid, depth % DIMS);
+            split(lo, mid, depth + 1);
+            split(mid + 1, hi, depth + 1);
+        }
+
+        /**
+         * Deja en mid un punto con la mediana de la coordenada d, con los menores o iguales antes y los mayores
+         * o iguales después. Como los valores van de 1 a 100, la mediana sale de un histograma y basta una
+         * partición en tres (menor / igual / mayor) para colocarla, sin el peor caso de un quickselect con
+         * muchos valores repetidos.
+         */
+        private void partitionAroundMedian(int lo, int hi, int mid, int d) {
+            int[] histogram = new int[256];
+            for (int i = lo; i < hi; i++) {
+                histogram[points[i * DIMS + d] & 0xFF]++;
+            }
+            int median = 0;
+            for (int seen = 0, target = mid - lo; median < histogram.length; median++) {
+                seen += histogram[median];
+                if (seen > target) {
+                    break;
+                }
+            }
+            int lt = lo;
+            int gt = hi - 1;
+            int i = lo;
+            while (i <= gt) {
+                int value = points[i * DIMS + d] & 0xFF;
+                if (value < median) {
+                    swap(lt++, i++);
+                } else if (value > median) {
+                    swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        private void swap(int a, int b) {
+            if (a == b) {
+                return;
+            }
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int pa = a * DIMS;
+            int pb = b * DIMS;
+            for (int d = 0; d < DIMS; d++) {
+                byte value = points[pa + d];
+                points[pa + d] = points[pb + d];
+                points[pb + d] = value;
+            }
+        }
+
+        void search(byte[] query, Neighbours best) {
+            search(query, best, 0, size, 0);
+        }
+
+        private void search(byte[] query, Neighbours best, int lo, int hi, int depth) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            best.offer(ids[mid], squaredDistance(query, points, mid));
+            int d = depth % DIMS;
+            int diff = query[d] - points[mid * DIMS + d];
+            if (diff <= 0) {
+                search(query, best, lo, mid, depth + 1);
+                if (diff * diff <= best.bound()) {
+                    search(query, best, mid + 1, hi, depth + 1);
+                }
+            } else {
+                search(query, best, mid + 1, hi, depth + 1);
+                if (diff * diff <= best.bound()) {
+                    search(query, best, lo, mid, depth + 1);
+                }
+            }
+        }
+    }
+
+    /** Montículo de máximos acotado a k con los mejores (distancia, id) vistos hasta ahora. */
+    private static final class Neighbours {
+
+        private final long[] ids;
+        private final int[] distances;
+        private final long excludeId;
+        private int size;
+
+        Neighbours(int k, long excludeId) {
+            this.ids = new long[k];
+            this.distances = new int[k];
+            this.excludeId = excludeId;
+        }
+
+        /** Distancia a partir de la cual un punto ya no puede entrar; sin llenar, cualquiera entra. */
+        int bound() {
+            return size < ids.length ? Integer.MAX_VALUE : distances[0];
+        }
+
+        void offer(long id, int distance) {
+            if (id == excludeId) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                distances[size] = distance;
+                siftUp(size++);
+            } else if (worse(distances[0], ids[0], distance, id)) {
+                ids[0] = id;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        List<Neighbour> sorted() {
+            List<Neighbour> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new Neighbour(ids[i], distances[i]));
+            }
+            result.sort(Comparator.comparingInt(Neighbour::squaredDistance).thenComparingLong(Neighbour::id));
+            return result;
+        }
+
+        private static boolean worse(int distanceA, long idA, int distanceB, long idB) {
+            return distanceA > distanceB || (distanceA == distanceB && idA > idB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(distances[i], ids[i], distances[parent], ids[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (worse(distances[child], ids[child], distances[worst], ids[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import com.rpgforge.domain.Stat;
+import com.rpgforge.dto.ClassStats;
+import com.rpgforge.dto.StatQuery;
+import com.rpgforge.repository.CharacterRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Copia columnar en memoria del nivel y las estadísticas para consultas analíticas (rangos y medias por clase)
+ * sin hidratar entidades. Cada estadística es un byte[] indexado por id (los valores van de 1 a 100) y la clase
+ * un código de diccionario en un int[]; el código 0 marca un id sin personaje. La clase es texto libre en la
+ * importación y la clonación, así que el diccionario no tiene tope: ningún guardado puede quedarse fuera.
+ * Se reconstruye al arrancar y se mantiene con cada CharacterSavedEvent, como el resto de modelos de lectura.
+ */
+@Component
+public class StatColumns implements SmartInitializingSingleton {
+
+    private static final int STATS = Stat.values().length;
+
+    private final CharacterRepository characterRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private byte[][] columns = new byte[STATS][1024];
+    private int[] classCodes = new int[1024];
+    private final List<String> classNames = new ArrayList<>(List.of(""));
+    private final Map<String, Integer> classCodeByName = new HashMap<>();
+    private int maxId;
+
+    public StatColumns(CharacterRepository characterRepository, PlatformTransactionManager transactionManager) {
+        this.characterRepository = characterRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = characterRepository.streamStats()) {
+                int[] values = new int[STATS];
+                rows.forEach(row -> {
+                    for (int s = 0; s < STATS; s++) {
+                        values[s] = (Integer) row[2 + s];
+                    }
+                    put((Long) row[0], (String) row[1], values);
+                });
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        Character character = event.character();
+        int[] values = new int[STATS];
+        for (Stat stat : Stat.values()) {
+            values[stat.ordinal()] = stat.valueOf(character);
+        }
+        put(character.getId(), character.getCharacterClass(), values);
+    }
+
+    private void put(Long id, String characterClass, int[] values) {
+        if (id < 1 || id >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("Id fuera del rango indexable: " + id);
+        }
+        int row = id.intValue();
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(row);
+            for (int s = 0; s < STATS; s++) {
+                columns[s][row] = (byte) values[s];
+            }
+            classCodes[row] = classCode(characterClass);
+            maxId = Math.max(maxId, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta los personajes que cumplen el filtro y devuelve los ids de los limit más recientes (id descendente).
+     */
+    public RangeHits filter(StatQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            Scan scan = scan(query);
+            if (scan == null) {
+                return new RangeHits(0, List.of());
+            }
+            List<Long> newest = new ArrayList<>(limit);
+            int total = 0;
+            for (int row = maxId; row >= 1; row--) {
+                if (scan.matches(row)) {
+                    total++;
+                    if (newest.size() < limit) {
+                        newest.add((long) row);
+                    }
+                }
+            }
+            return new RangeHits(total, newest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Número de personajes y media de cada estadística por clase, sobre los que cumplen el filtro. */
+    public List<ClassStats> aggregateByClass(StatQuery query) {
+        long[] counts;
+        long[][] sums = new long[STATS][];
+        List<String> names;
+        lock.readLock().lock();
+        try {
+            Scan scan = scan(query);
+            if (scan == null) {
+                return List.of();
+            }
+            names = List.copyOf(classNames);
+            counts = new long[names.size()];
+            for (int s = 0; s < STATS; s++) {
+                sums[s] = new long[names.size()];
+            }
+            if (scan.constrained.length == 0 && scan.classCode < 0) {
+                // Sin filtro: un recorrido por columna, sin saltos condicionales salvo el hueco de ids
+                for (int row = 1; row <= maxId; row++) {
+                    counts[classCodes[row]]++;
+                }
+                for (int s = 0; s < STATS; s++) {
+                    byte[] column = columns[s];
+                    long[] sum = sums[s];
+                    for (int row = 1; row <= maxId; row++) {
+                        sum[classCodes[row]] += column[row];
+                    }
+                }
+            } else {
+                for (int row = 1; row <= maxId; row++) {
+                    if (scan.matches(row)) {
+                        int code = classCodes[row];
+                        counts[code]++;
+                        for (int s = 0; s < STATS; s++) {
+                            sums[s][code] += columns[s][row];
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<ClassStats> result = new ArrayList<>();
+        for (int code = 1; code < names.size(); code++) {
+            long n = counts[code];
+            if (n > 0) {
+                result.add(new ClassStats(names.get(code), n,
+                        (double) sums[0][code] / n, (double) sums[1][code] / n, (double) sums[2][code] / n,
+                        (double) sums[3][code] / n, (double) sums[4][code] / n, (double) sums[5][code] / n));
+            }
+        }
+        return result;
+    }
+
+    /** Prepara el recorrido de query; null si la clase pedida no tiene ningún personaje. Requiere el cerrojo de lectura. */
+    private Scan scan(StatQuery query) {
+        int classCode = -1;
+        if (query.getCharacterClass() != null) {
+            Integer code = classCodeByName.get(query.getCharacterClass());
+            if (code == null) {
+                return null;
+            }
+            classCode = code;
+        }
+        List<Stat> constrained = new ArrayList<>();
+        for (Stat stat : Stat.values()) {
+            if (query.constrains(stat)) {
+                constrained.add(stat);
+            }
+        }
+        byte[][] active = new byte[constrained.size()][];
+        int[] min = new int[constrained.size()];
+        int[] max = new int[constrained.size()];
+        for (int i = 0; i < constrained.size(); i++) {
+            Stat stat = constrained.get(i);
+            active[i] = columns[stat.ordinal()];
+            min[i] = query.min(stat);
+            max[i] = query.max(stat);
+        }
+        return new Scan(classCodes, classCode, active, min, max);
+    }
+
+    private int classCode(String characterClass) {
+        String name = characterClass == null ? "" : characterClass;
+        Integer code = classCodeByName.get(name);
+        if (code == null) {
+            code = classNames.size();
+            classNames.add(name);
+            classCodeByName.put(name, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int row) {
+        if (row < classCodes.length) {
+            return;
+        }
+        int capacity = Math.max(row + 1, classCodes.length * 2);
+        classCodes = Arrays.copyOf(classCodes, capacity);
+        byte[][] grown = new byte[STATS][];
+        for (int s = 0; s < STATS; s++) {
+            grown[s] = Arrays.copyOf(columns[s], capacity);
+        }
+        columns = grown;
+    }
+
+    /** Ids que cumplen un filtro de rangos: total y los más recientes. */
+    public record RangeHits(int total, List<Long> ids) {
+    }
+
+    /** Columnas y límites de un recorrido; solo se comprueban las estadísticas con rango restringido. */
+    private record Scan(int[] classCodes, int classCode, byte[][] constrained, int[] min, int[] max) {
+
+        boolean matches(int row) {
+            int code = classCodes[row];
+            if (code == 0 || (classCode >= 0 && code != classCode)) {
+                return false;
+            }
+            for (int i = 0; i < constrained.length; i++) {
+                int value = constrained[i][row];
+                if (value < min[i] || value > max[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.rpgforge.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador global de cambios del almacén de personajes, para validar cachés HTTP (ETag / Last-Modified)
+ * de las vistas que dependen de toda la tabla sin consultar el repositorio.
+ * Avanza con cada CharacterSavedEvent confirmado. El ETag incluye el instante de arranque porque el contador
+ * vuelve a 0 en cada reinicio y la base en memoria puede no contener lo mismo que antes.
+ */
+@Component
+public class StoreVersion {
+
+    private final long bootMillis = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModifiedMillis = bootMillis;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCharacterSaved(CharacterSavedEvent event) {
+        version.incrementAndGet();
+        lastModifiedMillis = System.currentTimeMillis();
+    }
+
+    /** ETag fuerte para el estado actual del almacén. */
+    public String etag() {
+        return "\"" + Long.toString(bootMillis, 36) + "-" + version.get() + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+}
@@ -0,0 +1,183 @@
+package com.rpgforge.service;
+
+import com.rpgforge.domain.Character;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura diferida con commit en grupo para los personajes creados de uno en uno (wizard y clonación).
+ * Se activa con rpgforge.write-behind.enabled=true. Cada guardado entra en una cola acotada y un único hilo
+ * la vacía en transacciones de hasta max-batch filas, esperando como mucho max-delay-ms desde la primera fila
+ * del grupo: muchas peticiones concurrentes comparten un solo commit a cambio de unos milisegundos de latencia.
+ *
+ * Con la cola llena, submit() bloquea al llamador hasta que haya hueco (contrapresión) o hasta que se detenga
+ * el escritor; tras stop() ningún submit() queda esperando un commit que ya no va a llegar. El futuro se completa
+ * cuando el grupo se ha confirmado, con el personaje ya con id; los CharacterSavedEvent se publican dentro de la
+ * transacción del grupo, así que los modelos de lectura se actualizan tras el commit como en el modo directo.
+ * Las filas llegan validadas por Character.Builder, así que si el grupo falla es por la base de datos y
+ * todos sus futuros terminan con el mismo error.
+ */
+@Component
+@ConditionalOnProperty(name = "rpgforge.write-behind.enabled", havingValue = "true")
+public class WriteBehindWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindWriter.class);
+
+    private record Pending(Character character, CompletableFuture<Character> result) {
+    }
+
+    private final CharacterService characterService;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final DistributionSummary batchSizes;
+    private final Thread committer;
+
+    private volatile boolean running = true;
+
+    public WriteBehindWriter(CharacterService characterService,
+                             MeterRegistry meterRegistry,
+                             @Value("${rpgforge.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${rpgforge.write-behind.max-batch:500}") int maxBatch,
+                             @Value("${rpgforge.write-behind.max-delay-ms:5}") long maxDelayMillis) {
+        this.characterService = characterService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.batchSizes = DistributionSummary.builder("rpgforge.write-behind.batch")
+                .description("Personajes confirmados en cada commit de grupo")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        Gauge.builder("rpgforge.write-behind.queue", queue, BlockingQueue::size)
+                .description("Personajes en cola pendientes de commit")
+                .register(meterRegistry);
+        this.committer = new Thread(this::commitLoop, "write-behind-committer");
+        this.committer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        committer.start();
+    }
+
+    /** Vacía la cola antes de que se cierre la base de datos. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Encola un personaje nuevo; bloquea mientras la cola esté llena y el escritor siga en marcha.
+     * Si stop() llega mientras tanto, la fila se retira de la cola (o, si el hilo de commit ya la había
+     * recogido, su futuro lo completa él) y el llamador recibe IllegalStateException.
+     */
+    public CompletableFuture<Character> submit(Character character) {
+        Pending pending = new Pending(character, new CompletableFuture<>());
+        try {
+            do {
+                if (!running) {
+                    throw stopped();
+                }
+            } while (!queue.offer(pending, 100, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando hueco en la cola de escritura", e);
+        }
+        // El hilo de commit pudo salir entre la comprobación y el offer: nadie vaciaría ya esta fila
+        if (!running && queue.remove(pending)) {
+            throw stopped();
+        }
+        return pending.result();
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("La escritura diferida está detenida");
+    }
+
+    /** Encola y espera al commit del grupo: devuelve el personaje guardado, con id. */
+    public Character write(Character character) {
+        try {
+            return submit(character).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Solo se interrumpe al cerrar: se confirma lo que ya se ha sacado de la cola
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+        // Lo que un submit() concurrente dejó en la cola tras la última vuelta no se confirma: se rechaza
+        queue.drainTo(batch);
+        for (Pending pending : batch) {
+            pending.result().completeExceptionally(stopped());
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<Character> characters = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            characters.add(pending.character());
+        }
+        try {
+            characterService.saveAll(characters);
+        } catch (RuntimeException e) {
+            log.warn("Falló el commit de un grupo de {} personajes", batch.size(), e);
+            for (Pending pending : batch) {
+                pending.result().completeExceptionally(e);
+            }
+            return;
+        }
+        batchSizes.record(batch.size());
+        for (Pending pending : batch) {
+            pending.result().complete(pending.character());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+-- Migración de skills / equipment (texto separado por comas) a máscaras de bits sobre CharacterCatalog.
+-- Solo hace falta en bases persistentes creadas antes del cambio; el perfil por defecto usa H2 en memoria
+-- con ddl-auto=create-drop y genera las columnas nuevas directamente.
+-- El bit i corresponde a la posición i de CharacterCatalog.SKILLS / CharacterCatalog.EQUIPMENT.
+
+ALTER TABLE characters ADD COLUMN skills_mask INT DEFAULT 0 NOT NULL;
+ALTER TABLE characters ADD COLUMN equipment_mask INT DEFAULT 0 NOT NULL;
+
+-- Se normaliza la lista a ',a,b,c,' para que cada LIKE compare elementos completos.
+UPDATE characters SET skills_mask =
+      CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Golpe brutal,%'     THEN 1   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Escudo divino,%'    THEN 2   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Flecha de fuego,%'  THEN 4   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Teletransporte,%'   THEN 8   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Curación,%'         THEN 16  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Veneno letal,%'     THEN 32  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Rayo de hielo,%'    THEN 64  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Furia berserker,%'  THEN 128 ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Invisibilidad,%'    THEN 256 ELSE 0 END
+    + CASE WHEN ',' || REPLACE(skills, ', ', ',') || ',' LIKE '%,Invocar familiar,%' THEN 512 ELSE 0 END
+WHERE skills IS NOT NULL;
+
+UPDATE characters SET equipment_mask =
+      CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Espada larga,%'          THEN 1   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Armadura de placas,%'    THEN 2   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Arco élfico,%'           THEN 4   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Bastón mágico,%'         THEN 8   ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Daga envenenada,%'       THEN 16  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Escudo de roble,%'       THEN 32  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Capa de invisibilidad,%' THEN 64  ELSE 0 END
+    + CASE WHEN ',' || REPLACE(equipment, ', ', ',') || ',' LIKE '%,Botas veloces,%'         THEN 128 ELSE 0 END
+WHERE equipment IS NOT NULL;
+
+ALTER TABLE characters DROP COLUMN skills;
+ALTER TABLE characters DROP COLUMN equipment;